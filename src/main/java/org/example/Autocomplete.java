@@ -0,0 +1,148 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 下一个单词的自动补全：构建时为每个顶点算好权重最高的 k 个后继（权重相同时按编号），
+ * 按 CSR 存放在连续的数组中，查询只读数组前缀，不排序也不分配 Map.
+ * 两步续写在两层前 k 个后继中按 P(next | word)·P(next2 | next) 选出最可能的组合.
+ */
+public final class Autocomplete {
+
+  private final CompactGraph graph;
+  private final int k;
+  /** 顶点 v 的前 k 个后继为 successors[offsets[v] .. offsets[v + 1])，按权重降序. */
+  private final int[] offsets;
+  private final int[] successors;
+  private final int[] weights;
+  /** 顶点出边的权重和，用于换算条件概率. */
+  private final long[] totals;
+
+  private Autocomplete(CompactGraph graph, int k, int[] offsets, int[] successors, int[] weights,
+                       long[] totals) {
+    this.graph = graph;
+    this.k = k;
+    this.offsets = offsets;
+    this.successors = successors;
+    this.weights = weights;
+    this.totals = totals;
+  }
+
+  /**
+   * 为每个顶点预先计算权重最高的 k 个后继.
+   */
+  public static Autocomplete build(CompactGraph graph, int k) {
+    if (k <= 0) {
+      throw new IllegalArgumentException("候选数必须为正: " + k);
+    }
+    int n = graph.vertexCount();
+    int[] offsets = new int[n + 1];
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] = offsets[v] + Math.min(k, graph.outDegree(v));
+    }
+    int[] successors = new int[offsets[n]];
+    int[] weights = new int[offsets[n]];
+    long[] totals = new long[n];
+    long[] order = new long[16];
+    for (int v = 0; v < n; v++) {
+      long begin = graph.firstEdge(v);
+      int degree = graph.outDegree(v);
+      if (order.length < degree) {
+        order = new long[Math.max(degree, order.length * 2)];
+      }
+      // 打包成 (权重降序, 编号升序) 的 long，升序排序后取前 k 个
+      long total = 0;
+      for (int i = 0; i < degree; i++) {
+        int weight = graph.weight(begin + i);
+        total += weight;
+        order[i] = ((long) (Integer.MAX_VALUE - weight) << 32) | graph.target(begin + i);
+      }
+      totals[v] = total;
+      Arrays.sort(order, 0, degree);
+      for (int i = 0; i < offsets[v + 1] - offsets[v]; i++) {
+        successors[offsets[v] + i] = (int) order[i];
+        weights[offsets[v] + i] = Integer.MAX_VALUE - (int) (order[i] >>> 32);
+      }
+    }
+    return new Autocomplete(graph, k, offsets, successors, weights, totals);
+  }
+
+  /** 每个顶点保存的后继数上限. */
+  public int k() {
+    return k;
+  }
+
+  /**
+   * word 之后最可能的最多 limit 个单词（limit 不超过 k），单词不在图中时返回空列表.
+   */
+  public List<String> suggest(String word, int limit) {
+    List<String> result = new ArrayList<>();
+    int v = graph.id(word.toLowerCase());
+    if (v < 0) {
+      return result;
+    }
+    int end = Math.min(offsets[v + 1], offsets[v] + limit);
+    for (int i = offsets[v]; i < end; i++) {
+      result.add(graph.word(successors[i]));
+    }
+    return result;
+  }
+
+  /**
+   * 按编号查询：把最多 limit 个后继写入 out，返回写入的个数.
+   */
+  public int suggest(int v, int limit, int[] out) {
+    int count = Math.min(Math.min(limit, out.length), offsets[v + 1] - offsets[v]);
+    System.arraycopy(successors, offsets[v], out, 0, count);
+    return count;
+  }
+
+  /** 第 rank 个候选的权重（二元组计数）. */
+  public int weight(int v, int rank) {
+    return weights[offsets[v] + rank];
+  }
+
+  /**
+   * word 之后最可能的最多 limit 个两词续写（"next next2"），
+   * 概率为 P(next | word)·P(next2 | next)，只在两层前 k 个后继中选择.
+   */
+  public List<String> continuations(String word, int limit) {
+    List<String> result = new ArrayList<>();
+    int v = graph.id(word.toLowerCase());
+    if (v < 0 || limit <= 0) {
+      return result;
+    }
+    // 候选最多 k * k 个，按概率选出前 limit 个（插入排序，limit 通常很小）
+    int[] first = new int[limit];
+    int[] second = new int[limit];
+    double[] score = new double[limit];
+    int count = 0;
+    for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+      int next = successors[i];
+      double p1 = (double) weights[i] / totals[v];
+      for (int j = offsets[next]; j < offsets[next + 1]; j++) {
+        double p = p1 * ((double) weights[j] / totals[next]);
+        if (count == limit && p <= score[count - 1]) {
+          // 后继按权重降序，同一 next 之后的候选只会更小
+          break;
+        }
+        int pos = count < limit ? count++ : count - 1;
+        while (pos > 0 && score[pos - 1] < p) {
+          first[pos] = first[pos - 1];
+          second[pos] = second[pos - 1];
+          score[pos] = score[pos - 1];
+          pos--;
+        }
+        first[pos] = next;
+        second[pos] = successors[j];
+        score[pos] = p;
+      }
+    }
+    for (int i = 0; i < count; i++) {
+      result.add(graph.word(first[i]) + " " + graph.word(second[i]));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,182 @@
+package org.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 批量计算所有词对的桥接词个数，即邻接矩阵的平方 A·A：
+ * (A·A)[w1][w2] = |{b : w1 -> b 且 b -> w2}|.
+ * 按行分块并行做稀疏矩阵乘法，每个线程有自己的稀疏累加器（稠密计数数组 + 被触及的列表），
+ * 每行只保留桥接词最多的前 N 列，结果按行号顺序交给调用方，内存只与在途的块数有关.
+ */
+public final class BridgeMatrix {
+
+  /** 每个任务处理的行数. */
+  static final int BLOCK_ROWS = 1024;
+
+  private BridgeMatrix() {
+  }
+
+  /**
+   * 接收一行的结果：word1 与 word2[i] 之间有 counts[i] 个桥接词，按个数降序（相同时按编号升序）.
+   */
+  public interface RowSink {
+    void accept(int word1, int[] word2, int[] counts) throws IOException;
+  }
+
+  /**
+   * 用 threads 个线程计算 A·A，每行最多保留 topN 列，按行号顺序在调用线程中回调 sink，
+   * 返回输出的词对数. 没有桥接词的行不回调.
+   */
+  public static long multiply(CompactGraph graph, int topN, int threads, RowSink sink)
+          throws IOException {
+    if (topN <= 0) {
+      throw new IllegalArgumentException("每行保留的列数必须为正: " + topN);
+    }
+    int n = graph.vertexCount();
+    int workers = Math.max(1, threads);
+    ExecutorService pool = Executors.newFixedThreadPool(workers);
+    ThreadLocal<Accumulator> accumulators = ThreadLocal.withInitial(() -> new Accumulator(n));
+    // 在途的块数有上限，已完成的块按顺序交给 sink 后即可回收
+    ArrayDeque<Future<Block>> pending = new ArrayDeque<>();
+    long pairs = 0;
+    try {
+      int next = 0;
+      while (next < n || !pending.isEmpty()) {
+        while (next < n && pending.size() < workers * 2) {
+          int from = next;
+          int to = Math.min(n, from + BLOCK_ROWS);
+          pending.add(pool.submit(() -> accumulators.get().rows(graph, from, to, topN)));
+          next = to;
+        }
+        Block block = pending.poll().get();
+        for (int r = 0; r < block.rows.length; r++) {
+          int begin = block.offsets[r];
+          int length = block.offsets[r + 1] - begin;
+          int[] columns = Arrays.copyOfRange(block.columns, begin, begin + length);
+          int[] counts = Arrays.copyOfRange(block.counts, begin, begin + length);
+          sink.accept(block.rows[r], columns, counts);
+          pairs += length;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("桥接词矩阵计算被中断", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("桥接词矩阵计算失败", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    return pairs;
+  }
+
+  /**
+   * 把结果写成文本，每行 "word1 word2 count"，返回写出的词对数.
+   */
+  public static long writeTo(CompactGraph graph, Path file, int topN, int threads)
+          throws IOException {
+    try (Writer out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8),
+            1 << 16)) {
+      return multiply(graph, topN, threads, (word1, word2, counts) -> {
+        String from = graph.word(word1);
+        for (int i = 0; i < word2.length; i++) {
+          out.write(from);
+          out.write(' ');
+          out.write(graph.word(word2[i]));
+          out.write(' ');
+          out.write(Integer.toString(counts[i]));
+          out.write('\n');
+        }
+      });
+    }
+  }
+
+  /** 一个块的结果，按 CSR 存放. */
+  private static final class Block {
+    final int[] rows;
+    final int[] offsets;
+    final int[] columns;
+    final int[] counts;
+
+    Block(int[] rows, int[] offsets, int[] columns, int[] counts) {
+      this.rows = rows;
+      this.offsets = offsets;
+      this.columns = columns;
+      this.counts = counts;
+    }
+  }
+
+  /**
+   * 单个线程的稀疏累加器：count 在整个计算中复用，每行结束时只清零被触及的列.
+   */
+  private static final class Accumulator {
+    final int[] count;
+    int[] touched = new int[64];
+    long[] order = new long[64];
+
+    Accumulator(int n) {
+      this.count = new int[n];
+    }
+
+    Block rows(CompactGraph graph, int from, int to, int topN) {
+      int[] rows = new int[to - from];
+      int[] offsets = new int[to - from + 1];
+      int[] columns = new int[64];
+      int[] counts = new int[64];
+      int rowCount = 0;
+      int size = 0;
+      for (int w1 = from; w1 < to; w1++) {
+        int touchedCount = 0;
+        for (long e = graph.firstEdge(w1); e < graph.firstEdge(w1 + 1); e++) {
+          int bridge = graph.target(e);
+          for (long f = graph.firstEdge(bridge); f < graph.firstEdge(bridge + 1); f++) {
+            int w2 = graph.target(f);
+            if (count[w2]++ == 0) {
+              if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+              }
+              touched[touchedCount++] = w2;
+            }
+          }
+        }
+        if (touchedCount == 0) {
+          continue;
+        }
+        // 按 (个数降序, 编号升序) 排序：把两者打包成一个 long 后升序排序
+        if (order.length < touchedCount) {
+          order = new long[Math.max(touchedCount, order.length * 2)];
+        }
+        for (int i = 0; i < touchedCount; i++) {
+          int w2 = touched[i];
+          order[i] = ((long) (Integer.MAX_VALUE - count[w2]) << 32) | w2;
+          count[w2] = 0;
+        }
+        Arrays.sort(order, 0, touchedCount);
+        int keep = Math.min(topN, touchedCount);
+        if (size + keep > columns.length) {
+          columns = Arrays.copyOf(columns, Math.max(size + keep, columns.length * 2));
+          counts = Arrays.copyOf(counts, columns.length);
+        }
+        for (int i = 0; i < keep; i++) {
+          columns[size] = (int) order[i];
+          counts[size] = Integer.MAX_VALUE - (int) (order[i] >>> 32);
+          size++;
+        }
+        rows[rowCount++] = w1;
+        offsets[rowCount] = size;
+      }
+      return new Block(Arrays.copyOf(rows, rowCount), Arrays.copyOf(offsets, rowCount + 1),
+              columns, counts);
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 桥接词选择表：每个 (word1, word2) 词对第一次被查询时求出全部桥接词，
+ * 并预先计算 weight(word1→b)·weight(b→word2) 的前缀和与最大值所在位置，
+ * 之后同一词对的选择不再重建列表——最可能的桥接词 O(1)，按权重抽样 O(log n).
+ * 缓存大小固定：词对按哈希落入 WAYS 路组相联的桶，桶满时随机替换一项；
+ * 没有桥接词的词对不缓存. 可被多个线程同时使用.
+ */
+public class BridgeTable {
+
+  /**
+   * 桥接词的选择方式.
+   */
+  public enum Mode {
+    /** 在所有桥接词中均匀随机选择（原有行为）. */
+    UNIFORM,
+    /** 选择 weight(word1→b)·weight(b→word2) 最大的桥接词，相同时取编号最小者. */
+    MOST_PROBABLE,
+    /** 按 weight(word1→b)·weight(b→word2) 成比例随机抽样. */
+    WEIGHTED
+  }
+
+  /** 默认最多缓存的词对数. */
+  public static final int DEFAULT_CAPACITY = 1 << 16;
+  /** 每个桶的路数. */
+  static final int WAYS = 8;
+
+  private static final Entry NONE = new Entry(-1L, new int[0], new long[0], -1);
+
+  private final CompactGraph graph;
+  /** 第 b 个桶占 slots[b * WAYS, (b + 1) * WAYS). */
+  private final AtomicReferenceArray<Entry> slots;
+  private final int bucketMask;
+  private final AtomicInteger size = new AtomicInteger();
+
+  public BridgeTable(CompactGraph graph) {
+    this(graph, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * capacity 为最多缓存的词对数，向上取整为 WAYS 乘以 2 的幂.
+   */
+  public BridgeTable(CompactGraph graph, int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("缓存容量必须为正: " + capacity);
+    }
+    int wanted = Math.min((capacity - 1) / WAYS + 1, 1 << 26);
+    int buckets = wanted == 1 ? 1 : Integer.highestOneBit(wanted - 1) << 1;
+    this.graph = graph;
+    this.slots = new AtomicReferenceArray<>(buckets * WAYS);
+    this.bucketMask = buckets - 1;
+  }
+
+  /**
+   * 选择 word1 与 word2 之间的桥接词编号，没有桥接词时返回 -1.
+   * u 为 [0, 1) 内的均匀随机数，MOST_PROBABLE 模式下不使用.
+   */
+  public int select(int word1, int word2, Mode mode, double u) {
+    Entry entry = entry(word1, word2);
+    int count = entry.bridges.length;
+    if (count == 0) {
+      return -1;
+    }
+    switch (mode) {
+      case MOST_PROBABLE:
+        return entry.bridges[entry.best];
+      case WEIGHTED:
+        long target = (long) (u * entry.cumulative[count - 1]);
+        // 第一个前缀和大于 target 的位置
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+          int mid = (low + high) >>> 1;
+          if (entry.cumulative[mid] > target) {
+            high = mid;
+          } else {
+            low = mid + 1;
+          }
+        }
+        return entry.bridges[low];
+      default:
+        return entry.bridges[Math.min(count - 1, (int) (u * count))];
+    }
+  }
+
+  /**
+   * word1 与 word2 之间的全部桥接词（按编号升序）.
+   */
+  public int[] bridges(int word1, int word2) {
+    return entry(word1, word2).bridges.clone();
+  }
+
+  /**
+   * 桥接词 b 的得分 weight(word1→b)·weight(b→word2)，按 bridges 的顺序.
+   */
+  public long[] scores(int word1, int word2) {
+    long[] cumulative = entry(word1, word2).cumulative;
+    long[] scores = new long[cumulative.length];
+    for (int i = 0; i < scores.length; i++) {
+      scores[i] = cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]);
+    }
+    return scores;
+  }
+
+  /**
+   * 预热缓存：用 A·A 批量求出每个 word1 桥接词最多的 topN 个 word2，
+   * 把这些词对的桥接词表提前放入缓存，返回预热的词对数.
+   */
+  public long warm(int topN, int threads) {
+    try {
+      return BridgeMatrix.multiply(graph, topN, threads, (word1, word2, counts) -> {
+        for (int w2 : word2) {
+          entry(word1, w2);
+        }
+      });
+    } catch (IOException e) {
+      // 回调中不做 IO，不会发生
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** 已缓存的词对数（不超过 capacity）. */
+  public int cachedPairs() {
+    return size.get();
+  }
+
+  /** 最多缓存的词对数. */
+  public int capacity() {
+    return slots.length();
+  }
+
+  private Entry entry(int word1, int word2) {
+    if (word1 < 0 || word2 < 0) {
+      return NONE;
+    }
+    long key = LongIntHashMap.pack(word1, word2);
+    int base = (LongIntHashMap.mix(key) & bucketMask) * WAYS;
+    for (int i = 0; i < WAYS; i++) {
+      Entry cached = slots.get(base + i);
+      if (cached == null) {
+        break;
+      }
+      if (cached.key == key) {
+        return cached;
+      }
+    }
+    Entry entry = compute(key, word1, word2);
+    if (entry == NONE) {
+      return entry;
+    }
+    // 先找空位；桶满时随机替换一项. 并发时同一词对可能被算两次，结果相同
+    for (int i = 0; i < WAYS; i++) {
+      if (slots.compareAndSet(base + i, null, entry)) {
+        size.incrementAndGet();
+        return entry;
+      }
+      if (slots.get(base + i).key == key) {
+        return entry;
+      }
+    }
+    slots.set(base + ThreadLocalRandom.current().nextInt(WAYS), entry);
+    return entry;
+  }
+
+  private Entry compute(long key, int word1, int word2) {
+    int[] bridges = GraphAlgorithms.bridgeWords(graph, word1, word2);
+    if (bridges.length == 0) {
+      return NONE;
+    }
+    long[] cumulative = new long[bridges.length];
+    int best = 0;
+    long bestScore = -1;
+    long sum = 0;
+    for (int i = 0; i < bridges.length; i++) {
+      long score = (long) graph.weight(word1, bridges[i]) * graph.weight(bridges[i], word2);
+      sum += score;
+      cumulative[i] = sum;
+      if (score > bestScore) {
+        bestScore = score;
+        best = i;
+      }
+    }
+    return new Entry(key, bridges, cumulative, best);
+  }
+
+  private static final class Entry {
+    final long key;
+    final int[] bridges;
+    final long[] cumulative;
+    final int best;
+
+    Entry(long key, int[] bridges, long[] cumulative, int best) {
+      this.key = key;
+      this.bridges = bridges;
+      this.cumulative = cumulative;
+      this.best = best;
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package org.example;
+
+/**
+ * 以整数编号访问的只读有向词图（CSR 布局）.
+ * 顶点 v 的出边下标为 [firstEdge(v), firstEdge(v + 1))，同一顶点的出边按目标编号升序；
+ * 同时保存反向 CSR：入边下标为 [firstInEdge(v), firstInEdge(v + 1))，按源编号升序.
+ * 边下标用 long，以便存储超过 2^31 条边的图.
+ */
+public interface CompactGraph {
+
+  int vertexCount();
+
+  long edgeCount();
+
+  /**
+   * 单词对应的编号，不存在时返回 -1.
+   */
+  int id(String word);
+
+  String word(int id);
+
+  /** 顶点 v 第一条出边的下标；v == vertexCount() 时为边总数. */
+  long firstEdge(int v);
+
+  int target(long edge);
+
+  int weight(long edge);
+
+  /** 顶点 v 第一条入边的下标；v == vertexCount() 时为边总数. */
+  long firstInEdge(int v);
+
+  /** 入边的源顶点. */
+  int source(long inEdge);
+
+  /** 入边的权重. */
+  int inWeight(long inEdge);
+
+  default int inDegree(int v) {
+    return (int) (firstInEdge(v + 1) - firstInEdge(v));
+  }
+
+  default int outDegree(int v) {
+    return (int) (firstEdge(v + 1) - firstEdge(v));
+  }
+
+  /**
+   * 查询边权，不存在时返回0（在有序出边上二分查找）.
+   */
+  default int weight(int from, int to) {
+    long low = firstEdge(from);
+    long high = firstEdge(from + 1) - 1;
+    while (low <= high) {
+      long mid = (low + high) >>> 1;
+      int t = target(mid);
+      if (t < to) {
+        low = mid + 1;
+      } else if (t > to) {
+        high = mid - 1;
+      } else {
+        return weight(mid);
+      }
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,134 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程安全的有向词图：可以一边写入新文本一边查询桥接词.
+ * 边权用 LongAdder 计数，多个写线程同时累加同一条边也不会丢失计数.
+ */
+public class ConcurrentWordGraph {
+
+  private final ConcurrentHashMap<String, ConcurrentHashMap<String, LongAdder>> edges =
+          new ConcurrentHashMap<>();
+  private final Set<String> vertices = ConcurrentHashMap.newKeySet();
+
+  /**
+   * 边 from -> to 的权重加一.
+   */
+  public void addEdge(String from, String to) {
+    addEdge(from, to, 1);
+  }
+
+  /**
+   * 边 from -> to 的权重增加 count.
+   */
+  public void addEdge(String from, String to, long count) {
+    // 已存在的边只做无锁读取 + LongAdder 累加，只有新建时才走 computeIfAbsent
+    ConcurrentHashMap<String, LongAdder> out = edges.get(from);
+    if (out == null) {
+      vertices.add(from);
+      out = edges.computeIfAbsent(from, k -> new ConcurrentHashMap<>());
+    }
+    LongAdder adder = out.get(to);
+    if (adder == null) {
+      vertices.add(to);
+      adder = out.computeIfAbsent(to, k -> new LongAdder());
+    }
+    adder.add(count);
+  }
+
+  /**
+   * 把一段单词序列中的相邻词对写入图.
+   */
+  public void addWords(List<String> words) {
+    for (int i = 0; i + 1 < words.size(); i++) {
+      addEdge(words.get(i), words.get(i + 1));
+    }
+  }
+
+  /**
+   * 流式分词并写入图，读取内容视为独立一段（不与之前的文本相连）.
+   */
+  public void addText(Reader reader, Tokenizer tokenizer) throws IOException {
+    String[] previous = new String[1];
+    tokenizer.tokenize(reader, word -> {
+      if (previous[0] != null) {
+        addEdge(previous[0], word);
+      }
+      previous[0] = word;
+    });
+  }
+
+  /**
+   * 查询边权，不存在时返回0.
+   */
+  public long weight(String from, String to) {
+    Map<String, LongAdder> out = edges.get(from);
+    if (out == null) {
+      return 0;
+    }
+    LongAdder adder = out.get(to);
+    return adder == null ? 0 : adder.sum();
+  }
+
+  public boolean containsWord(String word) {
+    return vertices.contains(word);
+  }
+
+  public int vertexCount() {
+    return vertices.size();
+  }
+
+  /**
+   * 当前边数（并发写入时为近似值）.
+   */
+  public long edgeCount() {
+    long count = 0;
+    for (Map<String, LongAdder> out : edges.values()) {
+      count += out.size();
+    }
+    return count;
+  }
+
+  /**
+   * 查询 word1 -> bridge -> word2 的桥接词.
+   */
+  public List<String> bridgeWords(String word1, String word2) {
+    Map<String, LongAdder> out = edges.get(word1);
+    if (out == null) {
+      return Collections.emptyList();
+    }
+    List<String> bridges = new ArrayList<>();
+    for (String candidate : out.keySet()) {
+      Map<String, LongAdder> next = edges.get(candidate);
+      if (next != null && next.containsKey(word2)) {
+        bridges.add(candidate);
+      }
+    }
+    return bridges;
+  }
+
+  /**
+   * 导出为 Main 中其余功能使用的邻接表快照.
+   */
+  public Map<String, Map<String, Integer>> snapshot() {
+    Map<String, Map<String, Integer>> graph = new HashMap<>();
+    for (Map.Entry<String, ConcurrentHashMap<String, LongAdder>> fromEntry : edges.entrySet()) {
+      Map<String, Integer> out = new HashMap<>();
+      for (Map.Entry<String, LongAdder> toEntry : fromEntry.getValue().entrySet()) {
+        out.put(toEntry.getKey(), Math.toIntExact(toEntry.getValue().sum()));
+      }
+      graph.put(fromEntry.getKey(), out);
+    }
+    return graph;
+  }
+}
@@ -0,0 +1,102 @@
+package org.example;
+
+/**
+ * 最短路径使用的边代价. COUNT 直接以二元组计数为长度（原来的语义）；
+ * PROBABILITY 以 -log P(to | from) = log(出边权重和) - log(计数) 为长度，
+ * 最短路径即概率乘积最大的单词链. 对数在构建时一次算好，按 SCALE 定点化后
+ * 存成正反两个 long 数组（与出边、入边下标对应），查询时不再计算对数，
+ * 也能继续使用要求整数键的基数堆.
+ */
+public final class EdgeCosts {
+
+  /**
+   * 代价模型.
+   */
+  public enum Model {
+    /** 边权（二元组计数）即长度. */
+    COUNT,
+    /** -log P(to | from)，按 SCALE 定点化. */
+    PROBABILITY
+  }
+
+  /** 定点化的比例：代价 1 对应 1e-6 奈特. */
+  public static final long SCALE = 1_000_000L;
+
+  /** 以边权为代价，与图无关，可在不同的图之间共用. */
+  public static final EdgeCosts COUNTS = new EdgeCosts(Model.COUNT, null, null);
+
+  private final Model model;
+  /** forward[e] 为出边 e 的代价，COUNT 模型为 null. */
+  private final long[] forward;
+  /** reverse[e] 为入边 e 的代价，COUNT 模型为 null. */
+  private final long[] reverse;
+
+  private EdgeCosts(Model model, long[] forward, long[] reverse) {
+    this.model = model;
+    this.forward = forward;
+    this.reverse = reverse;
+  }
+
+  /**
+   * 按模型为图构建边代价.
+   */
+  public static EdgeCosts build(CompactGraph graph, Model model) {
+    return model == Model.COUNT ? COUNTS : negLogProbability(graph);
+  }
+
+  /**
+   * 预先计算每条出边、入边的 -log P(to | from).
+   * 概率为 1 的边代价取 1 而不是 0，避免出现零代价环，并列路径的枚举不会陷入循环.
+   */
+  public static EdgeCosts negLogProbability(CompactGraph graph) {
+    long edges = graph.edgeCount();
+    if (edges > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("边数超过数组上限: " + edges);
+    }
+    int n = graph.vertexCount();
+    double[] logTotal = new double[n];
+    for (int u = 0; u < n; u++) {
+      long total = 0;
+      for (long e = graph.firstEdge(u); e < graph.firstEdge(u + 1); e++) {
+        total += graph.weight(e);
+      }
+      logTotal[u] = Math.log(total);
+    }
+    long[] forward = new long[(int) edges];
+    long[] reverse = new long[(int) edges];
+    for (int u = 0; u < n; u++) {
+      for (long e = graph.firstEdge(u); e < graph.firstEdge(u + 1); e++) {
+        forward[(int) e] = scaled(logTotal[u] - Math.log(graph.weight(e)));
+      }
+      for (long e = graph.firstInEdge(u); e < graph.firstInEdge(u + 1); e++) {
+        reverse[(int) e] = scaled(logTotal[graph.source(e)] - Math.log(graph.inWeight(e)));
+      }
+    }
+    return new EdgeCosts(Model.PROBABILITY, forward, reverse);
+  }
+
+  private static long scaled(double nats) {
+    return Math.max(1, Math.round(nats * SCALE));
+  }
+
+  public Model model() {
+    return model;
+  }
+
+  /** 出边 e 的代价. */
+  public long cost(CompactGraph graph, long e) {
+    return forward == null ? graph.weight(e) : forward[(int) e];
+  }
+
+  /** 入边 e 的代价. */
+  public long inCost(CompactGraph graph, long e) {
+    return reverse == null ? graph.inWeight(e) : reverse[(int) e];
+  }
+
+  /**
+   * 路径总代价换算为展示用的长度：COUNT 为计数之和，PROBABILITY 为 -log P（奈特）.
+   */
+  public double length(long cost) {
+    return model == Model.COUNT ? cost : (double) cost / SCALE;
+  }
+}
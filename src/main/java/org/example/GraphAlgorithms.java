@@ -0,0 +1,703 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * 基于 CompactGraph 的桥接词、最短路径、PageRank 与随机游走，
+ * 堆内的 WordGraph 与堆外的 OffHeapWordGraph 共用同一套实现.
+ */
+public final class GraphAlgorithms {
+
+  /** 不可达时的距离. */
+  public static final long UNREACHABLE = Long.MAX_VALUE;
+
+  private GraphAlgorithms() {
+  }
+
+  /** 两个邻接段长度相差超过此倍数时改用倍增查找. */
+  static final int GALLOP_RATIO = 16;
+
+  /**
+   * 查询 word1 -> bridge -> word2 的桥接词编号（按编号升序）.
+   * out(word1) 与 in(word2) 都按编号有序：长度相近时归并求交，
+   * 相差悬殊时遍历短的一段，在长的一段中倍增查找，只需 O(短 * log 长) 次比较.
+   */
+  public static int[] bridgeWords(CompactGraph graph, int word1, int word2) {
+    long outBegin = graph.firstEdge(word1);
+    long outEnd = graph.firstEdge(word1 + 1);
+    long inBegin = graph.firstInEdge(word2);
+    long inEnd = graph.firstInEdge(word2 + 1);
+    long outLength = outEnd - outBegin;
+    long inLength = inEnd - inBegin;
+    if (outLength > GALLOP_RATIO * inLength) {
+      return gallopIntersect(graph, inBegin, inEnd, false, outBegin, outEnd, true);
+    }
+    if (inLength > GALLOP_RATIO * outLength) {
+      return gallopIntersect(graph, outBegin, outEnd, true, inBegin, inEnd, false);
+    }
+    return mergeIntersect(graph, outBegin, outEnd, inBegin, inEnd);
+  }
+
+  /**
+   * 线性归并求交.
+   */
+  static int[] mergeIntersect(CompactGraph graph, long i, long outEnd, long j, long inEnd) {
+    int[] result = new int[(int) Math.min(outEnd - i, inEnd - j)];
+    int count = 0;
+    while (i < outEnd && j < inEnd) {
+      int a = graph.target(i);
+      int b = graph.source(j);
+      if (a < b) {
+        i++;
+      } else if (a > b) {
+        j++;
+      } else {
+        result[count++] = a;
+        i++;
+        j++;
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  /**
+   * 遍历短段 [shortBegin, shortEnd)，在长段中倍增查找；
+   * 每次查找从上一次的位置继续，总代价与短段长度成正比.
+   * 布尔参数表示该段读出边目标（true）还是入边源（false）.
+   */
+  static int[] gallopIntersect(CompactGraph graph, long shortBegin, long shortEnd,
+                               boolean shortOut, long longBegin, long longEnd, boolean longOut) {
+    int[] result = new int[(int) (shortEnd - shortBegin)];
+    int count = 0;
+    long low = longBegin;
+    for (long i = shortBegin; i < shortEnd && low < longEnd; i++) {
+      int key = shortOut ? graph.target(i) : graph.source(i);
+      // 步长加倍直到越过 key，再在最后一步的区间内二分
+      long step = 1;
+      long high = low;
+      while (high < longEnd && vertexAt(graph, high, longOut) < key) {
+        low = high + 1;
+        high = low + step;
+        step <<= 1;
+      }
+      high = Math.min(high, longEnd);
+      while (low < high) {
+        long mid = (low + high) >>> 1;
+        if (vertexAt(graph, mid, longOut) < key) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      if (low < longEnd && vertexAt(graph, low, longOut) == key) {
+        result[count++] = key;
+        low++;
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private static int vertexAt(CompactGraph graph, long index, boolean out) {
+    return out ? graph.target(index) : graph.source(index);
+  }
+
+  /**
+   * 边 from -> to 的下标，不存在时返回 -1（在有序出边上二分查找）.
+   */
+  public static long findEdge(CompactGraph graph, int from, int to) {
+    long low = graph.firstEdge(from);
+    long high = graph.firstEdge(from + 1);
+    while (low < high) {
+      long mid = (low + high) >>> 1;
+      if (graph.target(mid) < to) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low < graph.firstEdge(from + 1) && graph.target(low) == to ? low : -1;
+  }
+
+  /**
+   * 所有指向 word 的前驱单词编号（按编号升序）.
+   */
+  public static int[] predecessors(CompactGraph graph, int word) {
+    int[] result = new int[graph.inDegree(word)];
+    long first = graph.firstInEdge(word);
+    for (int k = 0; k < result.length; k++) {
+      result[k] = graph.source(first + k);
+    }
+    return result;
+  }
+
+  /**
+   * 以边权为长度的单源最短路径（Dijkstra），返回距离数组，pred 中写入前驱（可为 null）.
+   */
+  public static long[] shortestDistances(CompactGraph graph, int source, int[] pred) {
+    return dijkstra(graph, EdgeCosts.COUNTS, source, pred, false);
+  }
+
+  /**
+   * 按给定代价模型的单源最短路径.
+   */
+  public static long[] shortestDistances(CompactGraph graph, EdgeCosts costs, int source,
+                                         int[] pred) {
+    return dijkstra(graph, costs, source, pred, false);
+  }
+
+  /**
+   * 所有顶点到 target 的最短距离（沿入边反向搜索），succ 中写入路径上的下一个顶点（可为 null）.
+   */
+  public static long[] shortestDistancesTo(CompactGraph graph, int target, int[] succ) {
+    return dijkstra(graph, EdgeCosts.COUNTS, target, succ, true);
+  }
+
+  /**
+   * 按给定代价模型，所有顶点到 target 的最短距离.
+   */
+  public static long[] shortestDistancesTo(CompactGraph graph, EdgeCosts costs, int target,
+                                           int[] succ) {
+    return dijkstra(graph, costs, target, succ, true);
+  }
+
+  private static long[] dijkstra(CompactGraph graph, EdgeCosts costs, int source, int[] pred,
+                                 boolean reverse) {
+    int n = graph.vertexCount();
+    long[] dist = new long[n];
+    Arrays.fill(dist, UNREACHABLE);
+    if (pred != null) {
+      Arrays.fill(pred, -1);
+    }
+    dist[source] = 0;
+    // 边权为正整数、出堆距离单调不减，用基数堆；过期元素出堆时跳过
+    RadixHeap heap = new RadixHeap();
+    heap.push(0, source);
+    while (!heap.isEmpty()) {
+      int u = heap.pop();
+      if (heap.lastKey() > dist[u]) {
+        continue;
+      }
+      long end = reverse ? graph.firstInEdge(u + 1) : graph.firstEdge(u + 1);
+      for (long e = reverse ? graph.firstInEdge(u) : graph.firstEdge(u); e < end; e++) {
+        int v = reverse ? graph.source(e) : graph.target(e);
+        long candidate = dist[u] + (reverse ? costs.inCost(graph, e) : costs.cost(graph, e));
+        if (candidate < dist[v]) {
+          dist[v] = candidate;
+          if (pred != null) {
+            pred[v] = u;
+          }
+          heap.push(candidate, v);
+        }
+      }
+    }
+    return dist;
+  }
+
+  /**
+   * 点到点的全部最短路径（A* 搜索，最多 maxPaths 条）.
+   * landmarks 不为 null 时以 ALT 下界作启发函数，为 null 时即普通 Dijkstra；
+   * 启发函数是一致的，目标出堆时距离已最优，之后继续弹出 f 值不超过最短距离的顶点，
+   * 保证并列最短路径上的前驱都已记录. settled 不为 null 时 settled[0] 写入出堆的顶点数.
+   */
+  public static List<int[]> shortestPaths(CompactGraph graph, int source, int target,
+                                          LandmarkIndex landmarks, int maxPaths,
+                                          int[] settled) {
+    return shortestPaths(graph, EdgeCosts.COUNTS, source, target, landmarks, maxPaths, settled);
+  }
+
+  /**
+   * 按给定代价模型的全部并列最短路径；landmarks 必须在同一代价模型上构建.
+   */
+  public static List<int[]> shortestPaths(CompactGraph graph, EdgeCosts costs, int source,
+                                          int target, LandmarkIndex landmarks, int maxPaths,
+                                          int[] settled) {
+    if (landmarks != null && landmarks.costs() != costs) {
+      throw new IllegalArgumentException("地标索引与查询的代价模型不一致");
+    }
+    int n = graph.vertexCount();
+    long[] dist = new long[n];
+    long[] heuristic = new long[n];
+    Arrays.fill(dist, UNREACHABLE);
+    Arrays.fill(heuristic, -1);
+    boolean[] done = new boolean[n];
+    // 多前驱链表：predHead[v] 指向第一个节点，节点为 (前驱顶点, 下一个节点)
+    int[] predHead = new int[n];
+    Arrays.fill(predHead, -1);
+    int[] predVertex = new int[16];
+    int[] predNext = new int[16];
+    int predCount = 0;
+    dist[source] = 0;
+    // 一致启发函数下 f 值出堆单调不减，同样可以用基数堆
+    RadixHeap heap = new RadixHeap();
+    long sourceEstimate = estimate(landmarks, source, target, heuristic);
+    if (sourceEstimate != UNREACHABLE) {
+      heap.push(sourceEstimate, source);
+    }
+    long best = UNREACHABLE;
+    int settledCount = 0;
+    while (!heap.isEmpty() && heap.peekKey() <= best) {
+      int u = heap.pop();
+      if (done[u]) {
+        continue;
+      }
+      done[u] = true;
+      settledCount++;
+      if (u == target) {
+        best = dist[u];
+        continue;
+      }
+      for (long e = graph.firstEdge(u); e < graph.firstEdge(u + 1); e++) {
+        int v = graph.target(e);
+        // 地标已能判定 v 到不了 target 的顶点直接剪掉，剩下顶点的启发值才是一致的
+        long h = estimate(landmarks, v, target, heuristic);
+        if (h == UNREACHABLE) {
+          continue;
+        }
+        long candidate = dist[u] + costs.cost(graph, e);
+        if (candidate > dist[v]) {
+          continue;
+        }
+        if (candidate < dist[v]) {
+          dist[v] = candidate;
+          predHead[v] = -1;
+          heap.push(candidate + h, v);
+        }
+        if (predCount == predVertex.length) {
+          predVertex = Arrays.copyOf(predVertex, predCount * 2);
+          predNext = Arrays.copyOf(predNext, predCount * 2);
+        }
+        predVertex[predCount] = u;
+        predNext[predCount] = predHead[v];
+        predHead[v] = predCount++;
+      }
+    }
+    if (settled != null) {
+      settled[0] = settledCount;
+    }
+    List<int[]> paths = new ArrayList<>();
+    if (best == UNREACHABLE) {
+      return paths;
+    }
+    // 从目标沿前驱链回溯，枚举并列的最短路径
+    collectPaths(source, target, predHead, predVertex, predNext, n, maxPaths, paths);
+    return paths;
+  }
+
+  /**
+   * 用显式栈在前驱链上做深度优先枚举，路径很长时也不会栈溢出.
+   * 边代价为正，前驱关系无环，栈深度不超过顶点数.
+   */
+  private static void collectPaths(int source, int target, int[] predHead, int[] predVertex,
+                                   int[] predNext, int n, int maxPaths, List<int[]> paths) {
+    // reversed[0 .. length) 为从 target 回溯的顶点，cursor[i] 为 reversed[i] 下一个待试的前驱节点
+    int[] reversed = new int[n];
+    int[] cursor = new int[n];
+    reversed[0] = target;
+    cursor[0] = predHead[target];
+    int length = 1;
+    while (length > 0 && paths.size() < maxPaths) {
+      int v = reversed[length - 1];
+      if (v == source) {
+        int[] path = new int[length];
+        for (int i = 0; i < length; i++) {
+          path[i] = reversed[length - 1 - i];
+        }
+        paths.add(path);
+        length--;
+        continue;
+      }
+      int node = cursor[length - 1];
+      if (node == -1) {
+        length--;
+        continue;
+      }
+      cursor[length - 1] = predNext[node];
+      int u = predVertex[node];
+      reversed[length] = u;
+      cursor[length] = predHead[u];
+      length++;
+    }
+  }
+
+  /** A* 的启发值，每个顶点只计算一次并缓存在 heuristic 中；UNREACHABLE 表示到不了 target. */
+  private static long estimate(LandmarkIndex landmarks, int v, int target, long[] heuristic) {
+    if (landmarks == null) {
+      return 0;
+    }
+    if (heuristic[v] < 0) {
+      heuristic[v] = landmarks.lowerBound(v, target);
+    }
+    return heuristic[v];
+  }
+
+  /**
+   * 点到点 Dijkstra：先用强连通分量索引排除不可达的查询，
+   * 搜索中跳过无法到达 target 的顶点，target 出堆后立即停止.
+   * 返回最短路径上的顶点编号，不可达时返回空数组.
+   */
+  public static int[] shortestPath(CompactGraph graph, int source, int target, SccIndex index) {
+    return shortestPath(graph, EdgeCosts.COUNTS, source, target, index);
+  }
+
+  /**
+   * 按给定代价模型的点到点最短路径.
+   */
+  public static int[] shortestPath(CompactGraph graph, EdgeCosts costs, int source, int target,
+                                   SccIndex index) {
+    if (!index.canReach(source, target)) {
+      return new int[0];
+    }
+    int n = graph.vertexCount();
+    int targetComponent = index.component(target);
+    long[] dist = new long[n];
+    int[] pred = new int[n];
+    Arrays.fill(dist, UNREACHABLE);
+    Arrays.fill(pred, -1);
+    dist[source] = 0;
+    RadixHeap heap = new RadixHeap();
+    heap.push(0, source);
+    while (!heap.isEmpty()) {
+      int u = heap.pop();
+      if (heap.lastKey() > dist[u]) {
+        continue;
+      }
+      if (u == target) {
+        break;
+      }
+      for (long e = graph.firstEdge(u); e < graph.firstEdge(u + 1); e++) {
+        int v = graph.target(e);
+        // 只在位图可用（O(1) 判断）时逐边剪枝
+        if (index.hasBitsets()
+                && !index.componentReaches(index.component(v), targetComponent)) {
+          continue;
+        }
+        long candidate = dist[u] + costs.cost(graph, e);
+        if (candidate < dist[v]) {
+          dist[v] = candidate;
+          pred[v] = u;
+          heap.push(candidate, v);
+        }
+      }
+    }
+    List<Integer> path = pathTo(pred, source, target);
+    int[] result = new int[path.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = path.get(i);
+    }
+    return result;
+  }
+
+  /**
+   * 双向 Dijkstra：从 source 沿出边、从 target 沿入边同时扩展，两侧相遇后停止.
+   * 返回最短路径上的顶点编号，不可达时返回空数组.
+   */
+  public static int[] bidirectionalShortestPath(CompactGraph graph, int source, int target) {
+    return bidirectionalShortestPath(graph, EdgeCosts.COUNTS, source, target);
+  }
+
+  /**
+   * 按给定代价模型的双向 Dijkstra.
+   */
+  public static int[] bidirectionalShortestPath(CompactGraph graph, EdgeCosts costs, int source,
+                                                int target) {
+    int n = graph.vertexCount();
+    long[][] dist = {new long[n], new long[n]};
+    int[][] pred = {new int[n], new int[n]};
+    boolean[][] settled = {new boolean[n], new boolean[n]};
+    RadixHeap[] heaps = {new RadixHeap(), new RadixHeap()};
+    for (int side = 0; side < 2; side++) {
+      Arrays.fill(dist[side], UNREACHABLE);
+      Arrays.fill(pred[side], -1);
+    }
+    dist[0][source] = 0;
+    dist[1][target] = 0;
+    heaps[0].push(0, source);
+    heaps[1].push(0, target);
+    long best = source == target ? 0 : UNREACHABLE;
+    int meet = source == target ? source : -1;
+    while (!heaps[0].isEmpty() && !heaps[1].isEmpty()) {
+      // 两侧堆顶之和不小于当前最优值时，不可能再找到更短的路径
+      if (heaps[0].peekKey() + heaps[1].peekKey() >= best) {
+        break;
+      }
+      int side = heaps[0].size() <= heaps[1].size() ? 0 : 1;
+      int u = heaps[side].pop();
+      if (settled[side][u] || heaps[side].lastKey() > dist[side][u]) {
+        continue;
+      }
+      settled[side][u] = true;
+      long begin = side == 0 ? graph.firstEdge(u) : graph.firstInEdge(u);
+      long end = side == 0 ? graph.firstEdge(u + 1) : graph.firstInEdge(u + 1);
+      for (long e = begin; e < end; e++) {
+        int v = side == 0 ? graph.target(e) : graph.source(e);
+        long candidate = dist[side][u]
+                + (side == 0 ? costs.cost(graph, e) : costs.inCost(graph, e));
+        if (candidate < dist[side][v]) {
+          dist[side][v] = candidate;
+          pred[side][v] = u;
+          heaps[side].push(candidate, v);
+        }
+        if (dist[1 - side][v] != UNREACHABLE && candidate + dist[1 - side][v] < best) {
+          best = candidate + dist[1 - side][v];
+          meet = v;
+        }
+      }
+    }
+    if (meet < 0) {
+      return new int[0];
+    }
+    List<Integer> forward = pathTo(pred[0], source, meet);
+    int[] path = new int[forward.size()];
+    for (int k = 0; k < path.length; k++) {
+      path[k] = forward.get(k);
+    }
+    int length = path.length;
+    for (int v = pred[1][meet]; v != -1; v = pred[1][v]) {
+      path = Arrays.copyOf(path, length + 1);
+      path[length++] = v;
+    }
+    return path;
+  }
+
+  /**
+   * 按前驱数组还原 source 到 target 的路径，不可达时返回空列表.
+   */
+  public static List<Integer> pathTo(int[] pred, int source, int target) {
+    List<Integer> path = new ArrayList<>();
+    for (int v = target; v != -1; v = pred[v]) {
+      path.add(v);
+      if (v == source) {
+        Collections.reverse(path);
+        return path;
+      }
+    }
+    return new ArrayList<>();
+  }
+
+  /**
+   * PageRank（出度为0的节点均分给所有节点），返回按编号索引的分数.
+   */
+  public static double[] pageRank(CompactGraph graph, double dampingFactor, int maxIterations) {
+    int n = graph.vertexCount();
+    double[] rank = new double[n];
+    if (n == 0) {
+      return rank;
+    }
+    Arrays.fill(rank, 1.0 / n);
+    for (int iteration = 0; iteration < maxIterations; iteration++) {
+      double dangling = 0.0;
+      for (int u = 0; u < n; u++) {
+        if (graph.outDegree(u) == 0) {
+          dangling += rank[u];
+        }
+      }
+      double base = (1.0 - dampingFactor) / n + dampingFactor * dangling / n;
+      rank = pullIteration(graph, rank, base, dampingFactor);
+    }
+    return rank;
+  }
+
+  /**
+   * 取分数数组中最高的前K个下标（原始类型小顶堆，不装箱）.
+   */
+  public static int[] topKIndices(double[] scores, int k) {
+    int size = Math.min(Math.max(k, 0), scores.length);
+    int[] heap = new int[size];
+    int count = 0;
+    for (int i = 0; i < scores.length; i++) {
+      if (count < size) {
+        heap[count] = i;
+        siftUp(heap, count++, scores);
+      } else if (size > 0 && scores[i] > scores[heap[0]]) {
+        heap[0] = i;
+        siftDown(heap, 0, size, scores);
+      }
+    }
+    // 逐个弹出堆顶，从后往前填充得到降序结果
+    for (int end = size - 1; end > 0; end--) {
+      int top = heap[0];
+      heap[0] = heap[end];
+      heap[end] = top;
+      siftDown(heap, 0, end, scores);
+    }
+    return heap;
+  }
+
+  private static void siftUp(int[] heap, int pos, double[] scores) {
+    int node = heap[pos];
+    while (pos > 0) {
+      int parent = (pos - 1) >>> 1;
+      if (scores[heap[parent]] <= scores[node]) {
+        break;
+      }
+      heap[pos] = heap[parent];
+      pos = parent;
+    }
+    heap[pos] = node;
+  }
+
+  private static void siftDown(int[] heap, int pos, int size, double[] scores) {
+    int node = heap[pos];
+    while (true) {
+      int child = 2 * pos + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) {
+        child++;
+      }
+      if (scores[heap[child]] >= scores[node]) {
+        break;
+      }
+      heap[pos] = heap[child];
+      pos = child;
+    }
+    heap[pos] = node;
+  }
+
+  /**
+   * 沿反向 CSR 拉取一轮：next[v] = base + d * sum(rank[u] / outDegree(u))，u 为 v 的前驱.
+   * 每个顶点只写自己的分数，顺序读取入边数组.
+   */
+  static double[] pullIteration(CompactGraph graph, double[] rank, double base,
+                                double dampingFactor) {
+    int n = graph.vertexCount();
+    double[] share = new double[n];
+    for (int u = 0; u < n; u++) {
+      int degree = graph.outDegree(u);
+      share[u] = degree == 0 ? 0.0 : rank[u] / degree;
+    }
+    double[] next = new double[n];
+    for (int v = 0; v < n; v++) {
+      double sum = 0.0;
+      for (long e = graph.firstInEdge(v); e < graph.firstInEdge(v + 1); e++) {
+        sum += share[graph.source(e)];
+      }
+      next[v] = base + dampingFactor * sum;
+    }
+    return next;
+  }
+
+  /**
+   * 强连通分量（迭代式 Tarjan，不使用递归，适用于长链）.
+   * 返回每个顶点的分量编号；分量按 Tarjan 完成的顺序编号，即逆拓扑序（汇点分量编号最小）.
+   */
+  public static int[] stronglyConnectedComponents(CompactGraph graph) {
+    int n = graph.vertexCount();
+    int[] component = new int[n];
+    Arrays.fill(component, -1);
+    int[] index = new int[n];
+    Arrays.fill(index, -1);
+    int[] lowLink = new int[n];
+    // DFS 调用栈：顶点及其下一条待处理的出边
+    int[] callStack = new int[n];
+    long[] nextEdge = new long[n];
+    // Tarjan 栈：尚未归入分量的顶点
+    int[] stack = new int[n];
+    boolean[] onStack = new boolean[n];
+    int stackSize = 0;
+    int counter = 0;
+    int components = 0;
+    for (int root = 0; root < n; root++) {
+      if (index[root] >= 0) {
+        continue;
+      }
+      int depth = 0;
+      callStack[depth] = root;
+      nextEdge[depth] = graph.firstEdge(root);
+      index[root] = counter;
+      lowLink[root] = counter++;
+      stack[stackSize++] = root;
+      onStack[root] = true;
+      while (depth >= 0) {
+        int u = callStack[depth];
+        if (nextEdge[depth] < graph.firstEdge(u + 1)) {
+          int v = graph.target(nextEdge[depth]++);
+          if (index[v] < 0) {
+            depth++;
+            callStack[depth] = v;
+            nextEdge[depth] = graph.firstEdge(v);
+            index[v] = counter;
+            lowLink[v] = counter++;
+            stack[stackSize++] = v;
+            onStack[v] = true;
+          } else if (onStack[v]) {
+            lowLink[u] = Math.min(lowLink[u], index[v]);
+          }
+          continue;
+        }
+        // u 的出边处理完毕：若是分量的根则弹出整个分量
+        if (lowLink[u] == index[u]) {
+          int v;
+          do {
+            v = stack[--stackSize];
+            onStack[v] = false;
+            component[v] = components;
+          } while (v != u);
+          components++;
+        }
+        depth--;
+        if (depth >= 0) {
+          int parent = callStack[depth];
+          lowLink[parent] = Math.min(lowLink[parent], lowLink[u]);
+        }
+      }
+    }
+    return component;
+  }
+
+  /**
+   * 与 Main.randomWalk 相同的规则：每步随机选一条未走过的出边，没有可选边时停止.
+   * 最多走 maxSteps 步，返回经过的顶点编号.
+   */
+  public static int[] randomWalk(CompactGraph graph, int start, int maxSteps,
+                                 SplittableRandom random) {
+    int[][] path = {new int[16]};
+    int[] length = {0};
+    randomWalk(graph, start, maxSteps, random, v -> {
+      if (length[0] == path[0].length) {
+        path[0] = Arrays.copyOf(path[0], length[0] * 2);
+      }
+      path[0][length[0]++] = v;
+    });
+    return Arrays.copyOf(path[0], length[0]);
+  }
+
+  /**
+   * 同上，但不保存路径：每经过一个顶点（包括起点）就交给 visitor，返回走过的步数.
+   */
+  public static int randomWalk(CompactGraph graph, int start, int maxSteps,
+                               SplittableRandom random, IntConsumer visitor) {
+    visitor.accept(start);
+    LongIntHashMap visitedEdges = new LongIntHashMap();
+    int current = start;
+    long[] candidates = new long[16];
+    int steps = 0;
+    while (steps < maxSteps) {
+      int degree = graph.outDegree(current);
+      if (candidates.length < degree) {
+        candidates = new long[degree];
+      }
+      int count = 0;
+      for (long e = graph.firstEdge(current); e < graph.firstEdge(current + 1); e++) {
+        if (!visitedEdges.containsKey(e)) {
+          candidates[count++] = e;
+        }
+      }
+      if (count == 0) {
+        break;
+      }
+      long edge = candidates[random.nextInt(count)];
+      visitedEdges.put(edge, 1);
+      current = graph.target(edge);
+      steps++;
+      visitor.accept(current);
+    }
+    return steps;
+  }
+}
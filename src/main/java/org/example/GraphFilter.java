@@ -0,0 +1,102 @@
+package org.example;
+
+/**
+ * 展示有向图时的过滤和分页条件：起点单词前缀、最小边权、每个节点最多显示的边数，
+ * 以及按输出行计算的分页. 默认不过滤、不分页.
+ */
+public final class GraphFilter {
+
+  private final String prefix;
+  private final int minWeight;
+  private final int topPerNode;
+  private final long offset;
+  private final long limit;
+
+  private GraphFilter(Builder builder) {
+    this.prefix = builder.prefix;
+    this.minWeight = builder.minWeight;
+    this.topPerNode = builder.topPerNode;
+    this.offset = builder.offset;
+    this.limit = builder.limit;
+  }
+
+  /** 不过滤的条件. */
+  public static GraphFilter all() {
+    return builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public String prefix() {
+    return prefix;
+  }
+
+  public int minWeight() {
+    return minWeight;
+  }
+
+  public int topPerNode() {
+    return topPerNode;
+  }
+
+  /** 跳过的匹配行数. */
+  public long offset() {
+    return offset;
+  }
+
+  /** 最多输出的行数. */
+  public long limit() {
+    return limit;
+  }
+
+  /**
+   * 过滤条件的构建器.
+   */
+  public static final class Builder {
+    private String prefix = "";
+    private int minWeight = 1;
+    private int topPerNode = Integer.MAX_VALUE;
+    private long offset;
+    private long limit = Long.MAX_VALUE;
+
+    private Builder() {
+    }
+
+    /** 只显示起点单词以 prefix 开头的边. */
+    public Builder prefix(String prefix) {
+      this.prefix = prefix.toLowerCase();
+      return this;
+    }
+
+    /** 只显示权重不小于 minWeight 的边. */
+    public Builder minWeight(int minWeight) {
+      this.minWeight = minWeight;
+      return this;
+    }
+
+    /** 每个起点只显示权重最高的 n 条边（权重相同时按终点编号）. */
+    public Builder topPerNode(int n) {
+      if (n <= 0) {
+        throw new IllegalArgumentException("每个节点显示的边数必须为正: " + n);
+      }
+      this.topPerNode = n;
+      return this;
+    }
+
+    /** 第 page 页（从 0 开始），每页 pageSize 行. */
+    public Builder page(int page, int pageSize) {
+      if (page < 0 || pageSize <= 0) {
+        throw new IllegalArgumentException("无效的分页参数: " + page + ", " + pageSize);
+      }
+      this.offset = (long) page * pageSize;
+      this.limit = pageSize;
+      return this;
+    }
+
+    public GraphFilter build() {
+      return new GraphFilter(this);
+    }
+  }
+}
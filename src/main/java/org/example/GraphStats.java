@@ -0,0 +1,263 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 图的统计信息：顶点数、边数、出入度分布、边权分布、悬挂节点与强连通分量.
+ * 度和权重按顶点区间分块并行扫描一遍 CSR，强连通分量在同一线程池中同时计算.
+ * 分布按 2 的幂分桶：第 0 桶为 0，第 k 桶为 [2^(k-1), 2^k).
+ */
+public final class GraphStats {
+
+  /** 分桶数，覆盖全部 int 取值. */
+  public static final int BUCKETS = 33;
+
+  int vertices;
+  long edges;
+  long totalWeight;
+  int maxOutDegree;
+  int maxOutVertex = -1;
+  int maxInDegree;
+  int maxInVertex = -1;
+  int maxWeight;
+  int dangling;
+  int sourcesOnly;
+  int isolated;
+  int selfLoops;
+  final long[] outDegreeHistogram = new long[BUCKETS];
+  final long[] inDegreeHistogram = new long[BUCKETS];
+  final long[] weightHistogram = new long[BUCKETS];
+  int components;
+  int largestComponent;
+  int singletonComponents;
+  private String[] labels;
+
+  private GraphStats() {
+  }
+
+  /**
+   * 用 threads 个线程统计整张图.
+   */
+  public static GraphStats compute(CompactGraph graph, int threads) {
+    int n = graph.vertexCount();
+    int workers = Math.max(1, Math.min(threads, Math.max(1, n / 4096)));
+    ExecutorService pool = Executors.newFixedThreadPool(workers + 1);
+    try {
+      Future<int[]> scc = pool.submit(() -> GraphAlgorithms.stronglyConnectedComponents(graph));
+      List<Future<GraphStats>> parts = new ArrayList<>();
+      for (int t = 0; t < workers; t++) {
+        int from = (int) ((long) n * t / workers);
+        int to = (int) ((long) n * (t + 1) / workers);
+        parts.add(pool.submit(() -> scan(graph, from, to)));
+      }
+      GraphStats stats = new GraphStats();
+      stats.vertices = n;
+      for (Future<GraphStats> part : parts) {
+        stats.merge(part.get());
+      }
+      stats.summarizeComponents(scc.get());
+      stats.labels = new String[] {
+          stats.maxOutVertex < 0 ? null : graph.word(stats.maxOutVertex),
+          stats.maxInVertex < 0 ? null : graph.word(stats.maxInVertex)};
+      return stats;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("图统计被中断", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("图统计失败", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /** 统计顶点区间 [from, to) 及其出边. */
+  private static GraphStats scan(CompactGraph graph, int from, int to) {
+    GraphStats part = new GraphStats();
+    for (int v = from; v < to; v++) {
+      int out = graph.outDegree(v);
+      int in = graph.inDegree(v);
+      part.outDegreeHistogram[bucket(out)]++;
+      part.inDegreeHistogram[bucket(in)]++;
+      if (out > part.maxOutDegree) {
+        part.maxOutDegree = out;
+        part.maxOutVertex = v;
+      }
+      if (in > part.maxInDegree) {
+        part.maxInDegree = in;
+        part.maxInVertex = v;
+      }
+      if (out == 0) {
+        part.dangling++;
+      }
+      if (in == 0) {
+        part.sourcesOnly++;
+      }
+      if (out == 0 && in == 0) {
+        part.isolated++;
+      }
+      for (long e = graph.firstEdge(v); e < graph.firstEdge(v + 1); e++) {
+        int weight = graph.weight(e);
+        part.edges++;
+        part.totalWeight += weight;
+        part.weightHistogram[bucket(weight)]++;
+        part.maxWeight = Math.max(part.maxWeight, weight);
+        if (graph.target(e) == v) {
+          part.selfLoops++;
+        }
+      }
+    }
+    return part;
+  }
+
+  private void merge(GraphStats part) {
+    edges += part.edges;
+    totalWeight += part.totalWeight;
+    if (part.maxOutDegree > maxOutDegree) {
+      maxOutDegree = part.maxOutDegree;
+      maxOutVertex = part.maxOutVertex;
+    }
+    if (part.maxInDegree > maxInDegree) {
+      maxInDegree = part.maxInDegree;
+      maxInVertex = part.maxInVertex;
+    }
+    maxWeight = Math.max(maxWeight, part.maxWeight);
+    dangling += part.dangling;
+    sourcesOnly += part.sourcesOnly;
+    isolated += part.isolated;
+    selfLoops += part.selfLoops;
+    for (int b = 0; b < BUCKETS; b++) {
+      outDegreeHistogram[b] += part.outDegreeHistogram[b];
+      inDegreeHistogram[b] += part.inDegreeHistogram[b];
+      weightHistogram[b] += part.weightHistogram[b];
+    }
+  }
+
+  private void summarizeComponents(int[] component) {
+    int[] sizes = new int[component.length];
+    for (int c : component) {
+      sizes[c]++;
+      components = Math.max(components, c + 1);
+    }
+    for (int c = 0; c < components; c++) {
+      largestComponent = Math.max(largestComponent, sizes[c]);
+      if (sizes[c] == 1) {
+        singletonComponents++;
+      }
+    }
+  }
+
+  /** 值所在的分桶. */
+  public static int bucket(int value) {
+    return value <= 0 ? 0 : 32 - Integer.numberOfLeadingZeros(value);
+  }
+
+  public int vertices() {
+    return vertices;
+  }
+
+  public long edges() {
+    return edges;
+  }
+
+  public long totalWeight() {
+    return totalWeight;
+  }
+
+  public int maxOutDegree() {
+    return maxOutDegree;
+  }
+
+  public int maxInDegree() {
+    return maxInDegree;
+  }
+
+  public int maxWeight() {
+    return maxWeight;
+  }
+
+  /** 出度为 0 的顶点数. */
+  public int dangling() {
+    return dangling;
+  }
+
+  /** 入度为 0 的顶点数. */
+  public int sourcesOnly() {
+    return sourcesOnly;
+  }
+
+  public int isolated() {
+    return isolated;
+  }
+
+  public int selfLoops() {
+    return selfLoops;
+  }
+
+  public long[] outDegreeHistogram() {
+    return outDegreeHistogram.clone();
+  }
+
+  public long[] inDegreeHistogram() {
+    return inDegreeHistogram.clone();
+  }
+
+  public long[] weightHistogram() {
+    return weightHistogram.clone();
+  }
+
+  public int components() {
+    return components;
+  }
+
+  public int largestComponent() {
+    return largestComponent;
+  }
+
+  public int singletonComponents() {
+    return singletonComponents;
+  }
+
+  /**
+   * 堆内 WordGraph 正反两份 CSR 数组的大致字节数（不含单词字符串）.
+   */
+  public long estimatedCsrBytes() {
+    return 2L * Integer.BYTES * (vertices + 1) + 4L * Integer.BYTES * edges;
+  }
+
+  /**
+   * 多行文本报告.
+   */
+  public String report() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("顶点 %d，边 %d，总权重 %d，平均出度 %.2f%n", vertices, edges,
+            totalWeight, vertices == 0 ? 0.0 : (double) edges / vertices));
+    sb.append(String.format("最大出度 %d (%s)，最大入度 %d (%s)，最大边权 %d，自环 %d%n",
+            maxOutDegree, labels[0], maxInDegree, labels[1], maxWeight, selfLoops));
+    sb.append(String.format("悬挂节点（出度0）%d，无入边节点 %d，孤立节点 %d%n",
+            dangling, sourcesOnly, isolated));
+    sb.append(String.format("强连通分量 %d，最大分量 %d 个顶点，单点分量 %d%n",
+            components, largestComponent, singletonComponents));
+    sb.append(String.format("CSR 数组约 %.1f MB%n", estimatedCsrBytes() / 1048576.0));
+    sb.append(String.format("%-16s%12s%12s%12s%n", "区间", "出度", "入度", "边权"));
+    for (int b = 0; b < BUCKETS; b++) {
+      if (outDegreeHistogram[b] == 0 && inDegreeHistogram[b] == 0 && weightHistogram[b] == 0) {
+        continue;
+      }
+      String range = b == 0 ? "0" : b == 1 ? "1"
+              : "[" + (1L << (b - 1)) + ", " + ((1L << b) - 1) + "]";
+      sb.append(String.format("%-16s%12d%12d%12d%n", range, outDegreeHistogram[b],
+              inDegreeHistogram[b], weightHistogram[b]));
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public String toString() {
+    return report();
+  }
+}
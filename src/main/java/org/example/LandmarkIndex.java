@@ -0,0 +1,172 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * 地标（ALT）索引：预先计算每个地标到所有顶点、所有顶点到每个地标的最短距离.
+ * 由三角不等式得到任意两点距离的下界 max(d(L,t) - d(L,s), d(s,L) - d(t,L))，
+ * 以及经过地标的上界 min(d(s,L) + d(L,t))；下界可作为 A* 的一致启发函数.
+ */
+public final class LandmarkIndex {
+
+  /**
+   * 地标的选择方式.
+   */
+  public enum Selection {
+    /** 入度与出度之和最大的顶点. */
+    DEGREE,
+    /** PageRank 最高的顶点. */
+    PAGERANK,
+    /** 以度最大的顶点为第一个地标，之后每次选离已有地标最远的顶点，地标分布更分散. */
+    FARTHEST
+  }
+
+  private static final long UNREACHABLE = GraphAlgorithms.UNREACHABLE;
+  /** 单个距离表最多的项数（数组长度上限）. */
+  static final long MAX_ENTRIES = Integer.MAX_VALUE - 8;
+
+  private final EdgeCosts costs;
+  private final int k;
+  private final int[] landmarks;
+  /** fromLandmark[v * k + i] = d(landmarks[i], v)，同一顶点的 k 个距离相邻存放. */
+  private final long[] fromLandmark;
+  /** toLandmark[v * k + i] = d(v, landmarks[i]). */
+  private final long[] toLandmark;
+
+  private LandmarkIndex(EdgeCosts costs, int k, int[] landmarks, long[] fromLandmark,
+                        long[] toLandmark) {
+    this.costs = costs;
+    this.k = k;
+    this.landmarks = landmarks;
+    this.fromLandmark = fromLandmark;
+    this.toLandmark = toLandmark;
+  }
+
+  /**
+   * 选出 k 个地标，各做一次正向和一次反向 Dijkstra.
+   */
+  public static LandmarkIndex build(CompactGraph graph, int k, Selection selection) {
+    return build(graph, EdgeCosts.COUNTS, k, selection);
+  }
+
+  /**
+   * 在给定代价模型上构建地标索引，下界只对同一代价模型的查询有效.
+   * k * 顶点数超过数组上限时地标数减少到 MAX_ENTRIES / 顶点数.
+   */
+  public static LandmarkIndex build(CompactGraph graph, EdgeCosts costs, int k,
+                                    Selection selection) {
+    int n = graph.vertexCount();
+    double[] scores;
+    if (selection == Selection.PAGERANK) {
+      scores = GraphAlgorithms.pageRank(graph, 0.85, 30);
+    } else {
+      scores = new double[n];
+      for (int v = 0; v < n; v++) {
+        scores[v] = graph.inDegree(v) + graph.outDegree(v);
+      }
+    }
+    // 距离表共 count * n 项，按 long 计算；超过数组上限时减少地标数
+    int count = (int) Math.min(Math.min(k, n), n == 0 ? 0 : MAX_ENTRIES / n);
+    int[] landmarks = selection == Selection.FARTHEST
+            ? GraphAlgorithms.topKIndices(scores, Math.min(1, count))
+            : GraphAlgorithms.topKIndices(scores, count);
+    landmarks = Arrays.copyOf(landmarks, count);
+    long[] from = new long[count * n];
+    long[] to = new long[count * n];
+    // FARTHEST：minDistance[v] 为 v 到已选地标的最小距离（双向取和）
+    long[] minDistance = new long[n];
+    Arrays.fill(minDistance, UNREACHABLE);
+    for (int i = 0; i < count; i++) {
+      if (selection == Selection.FARTHEST && i > 0) {
+        int farthest = 0;
+        for (int v = 1; v < n; v++) {
+          if (minDistance[v] > minDistance[farthest]) {
+            farthest = v;
+          }
+        }
+        landmarks[i] = farthest;
+      }
+      long[] forward = GraphAlgorithms.shortestDistances(graph, costs, landmarks[i], null);
+      long[] backward = GraphAlgorithms.shortestDistancesTo(graph, costs, landmarks[i], null);
+      for (int v = 0; v < n; v++) {
+        from[v * count + i] = forward[v];
+        to[v * count + i] = backward[v];
+        if (forward[v] != UNREACHABLE && backward[v] != UNREACHABLE) {
+          minDistance[v] = Math.min(minDistance[v], forward[v] + backward[v]);
+        } else if (minDistance[v] == UNREACHABLE) {
+          // 与已选地标不连通的顶点优先被选中
+          minDistance[v] = UNREACHABLE - 1;
+        }
+      }
+      // 已选为地标的顶点不再被选中
+      minDistance[landmarks[i]] = -1;
+    }
+    return new LandmarkIndex(costs, count, landmarks, from, to);
+  }
+
+  /** 构建索引时使用的代价模型. */
+  public EdgeCosts costs() {
+    return costs;
+  }
+
+  /** 地标顶点编号. */
+  public int[] landmarks() {
+    return landmarks.clone();
+  }
+
+  /**
+   * d(s, t) 的下界（不小于 0）. 能由地标判定 s 到不了 t 时返回 UNREACHABLE：
+   * 地标 L 能到 s 却到不了 t，或 t 能到 L 而 s 到不了 L. 这样 A* 可以剪掉这些顶点，
+   * 对其余顶点每一项下界在边的两端都有定义，启发函数保持一致.
+   */
+  public long lowerBound(int s, int t) {
+    long bound = 0;
+    int sBase = s * k;
+    int tBase = t * k;
+    for (int i = 0; i < k; i++) {
+      long fromS = fromLandmark[sBase + i];
+      long fromT = fromLandmark[tBase + i];
+      if (fromS != UNREACHABLE) {
+        if (fromT == UNREACHABLE) {
+          return UNREACHABLE;
+        }
+        bound = Math.max(bound, fromT - fromS);
+      }
+      long sTo = toLandmark[sBase + i];
+      long tTo = toLandmark[tBase + i];
+      if (tTo != UNREACHABLE) {
+        if (sTo == UNREACHABLE) {
+          return UNREACHABLE;
+        }
+        bound = Math.max(bound, sTo - tTo);
+      }
+    }
+    return bound;
+  }
+
+  /**
+   * 经过某个地标的路径长度的最小值，即 d(s, t) 的上界；没有经过地标的路径时为 UNREACHABLE.
+   */
+  public long upperBound(int s, int t) {
+    if (s == t) {
+      return 0;
+    }
+    long bound = UNREACHABLE;
+    for (int i = 0; i < k; i++) {
+      long sTo = toLandmark[s * k + i];
+      long fromT = fromLandmark[t * k + i];
+      if (sTo != UNREACHABLE && fromT != UNREACHABLE) {
+        bound = Math.min(bound, sTo + fromT);
+      }
+    }
+    return bound;
+  }
+
+  /**
+   * 快速距离估计：有经过地标的路径时取上界，否则取下界（可能为 UNREACHABLE）.
+   */
+  public long estimate(int s, int t) {
+    long upper = upperBound(s, t);
+    return upper != UNREACHABLE ? upper : lowerBound(s, t);
+  }
+}
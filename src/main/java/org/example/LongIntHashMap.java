@@ -0,0 +1,150 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * 以非负 long 为键、int 为值的开放寻址哈希表（线性探测），不装箱.
+ * 用于把 (fromId, toId) 打包成一个 long 键来统计二元组.
+ */
+public final class LongIntHashMap {
+
+  private static final long EMPTY = -1L;
+
+  private long[] keys;
+  private int[] values;
+  private int size;
+  private int mask;
+  private int resizeAt;
+
+  public LongIntHashMap() {
+    this(16);
+  }
+
+  /**
+   * 按预计元素个数分配容量.
+   */
+  public LongIntHashMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / 0.6f)) - 1) << 1;
+    allocate(capacity);
+  }
+
+  /**
+   * 把两个非负 int 打包成一个键.
+   */
+  public static long pack(int high, int low) {
+    return ((long) high << 32) | (low & 0xffffffffL);
+  }
+
+  public static int high(long key) {
+    return (int) (key >>> 32);
+  }
+
+  public static int low(long key) {
+    return (int) key;
+  }
+
+  /**
+   * 把 key 对应的值加上 delta（不存在时视为0），返回新值.
+   */
+  public int addTo(long key, int delta) {
+    int slot = slotOf(key);
+    if (keys[slot] == EMPTY) {
+      keys[slot] = key;
+      values[slot] = delta;
+      if (++size >= resizeAt) {
+        rehash(keys.length << 1);
+      }
+      return delta;
+    }
+    values[slot] += delta;
+    return values[slot];
+  }
+
+  /**
+   * 设置 key 对应的值.
+   */
+  public void put(long key, int value) {
+    int slot = slotOf(key);
+    if (keys[slot] == EMPTY) {
+      keys[slot] = key;
+      values[slot] = value;
+      if (++size >= resizeAt) {
+        rehash(keys.length << 1);
+      }
+      return;
+    }
+    values[slot] = value;
+  }
+
+  /**
+   * 查询 key 对应的值，不存在时返回 defaultValue.
+   */
+  public int get(long key, int defaultValue) {
+    int slot = slotOf(key);
+    return keys[slot] == EMPTY ? defaultValue : values[slot];
+  }
+
+  public boolean containsKey(long key) {
+    return keys[slotOf(key)] != EMPTY;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** 底层槽位数，配合 isOccupied/keyAt/valueAt 遍历. */
+  public int capacity() {
+    return keys.length;
+  }
+
+  public boolean isOccupied(int slot) {
+    return keys[slot] != EMPTY;
+  }
+
+  public long keyAt(int slot) {
+    return keys[slot];
+  }
+
+  public int valueAt(int slot) {
+    return values[slot];
+  }
+
+  private int slotOf(long key) {
+    int slot = mix(key) & mask;
+    while (keys[slot] != EMPTY && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  static int mix(long key) {
+    // murmur3 的 64 位收尾混合
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return (int) key;
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    values = new int[capacity];
+    mask = capacity - 1;
+    resizeAt = (int) (capacity * 0.6f);
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        int slot = slotOf(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+}
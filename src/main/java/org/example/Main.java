@@ -2,30 +2,53 @@ package org.example;
 
 import guru.nidi.graphviz.engine.Format;
 import guru.nidi.graphviz.engine.Graphviz;
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
-import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
-import org.jgrapht.alg.shortestpath.YenKShortestPath;
 import org.jgrapht.graph.DefaultDirectedWeightedGraph;
 import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.GraphWalk;
 import org.jgrapht.nio.Attribute;
 import org.jgrapht.nio.DefaultAttribute;
 import org.jgrapht.nio.dot.DOTExporter;
@@ -41,6 +64,7 @@ public class Main {
    * 读取文本文件内容.
    */
   public static String readFile(String filename) {
+    Metrics.Timer timer = Metrics.start("ingest");
     StringBuilder result = new StringBuilder();
     try {
       // 获取基准路径（项目根目录）
@@ -51,8 +75,8 @@ public class Main {
       if (!filePath.startsWith(baseDir)) {
         throw new SecurityException("禁止访问基准目录之外的路径: " + filePath);
       }
-      // 使用 UTF-8 编码读取文件
-      try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+      // 使用 UTF-8 编码读取文件（gzip 等压缩文件边读边解压）
+      try (Reader reader = openCorpusReader(filePath)) {
         int ch;
         while ((ch = reader.read()) != -1) {
           char c = (char) ch;
@@ -62,44 +86,467 @@ public class Main {
     } catch (IOException e) {
       System.err.println("无法打开文件: " + e.getMessage());
       return null;
+    } finally {
+      timer.stop();
     }
     return result.toString();
   }
 
   /**
-   * 构建邻接表表示的有向图.
+   * 构建邻接表表示的有向图（兼容接口；新代码直接使用 buildWordGraph 返回的紧凑图）.
    */
   public static Map<String, Map<String, Integer>> buildDirectedGraph(String text) {
-    Map<String, Map<String, Integer>> graph = new HashMap<>();
-    String[] words = text.trim().split("\\s+");
-    for (int i = 0; i < words.length - 1; i++) {
-      String from = words[i];
-      String to = words[i + 1];
-      if (from.isEmpty() || to.isEmpty()) {
+    return buildWordGraph(text).toAdjacencyMap();
+  }
+
+  /**
+   * 在原始类型哈希表中统计全部二元组，直接冻结成紧凑图.
+   */
+  public static WordGraph buildWordGraph(String text) {
+    Metrics.Timer timer = Metrics.start("graph_build");
+    WordGraph graph = WordGraph.build(text);
+    timer.stop();
+    return graph;
+  }
+
+  /**
+   * 边分词边建图，不在内存中保留整段文本（兼容接口，返回邻接表）.
+   */
+  public static Map<String, Map<String, Integer>> buildDirectedGraph(Reader reader,
+                                                                     Tokenizer tokenizer)
+          throws IOException {
+    return buildWordGraph(reader, tokenizer).toAdjacencyMap();
+  }
+
+  /**
+   * 边分词边建紧凑图，不在内存中保留整段文本.
+   */
+  public static WordGraph buildWordGraph(Reader reader, Tokenizer tokenizer)
+          throws IOException {
+    WordGraph.Builder builder = new WordGraph.Builder();
+    tokenizer.tokenize(reader, builder::addWord);
+    return builder.build();
+  }
+
+  /**
+   * 用指定分词器读取文件并直接构建有向图，失败时返回 null.
+   */
+  public static Map<String, Map<String, Integer>> buildDirectedGraphFromFile(
+          String filename, Tokenizer tokenizer) {
+    WordGraph graph = buildWordGraphFromFile(filename, tokenizer);
+    return graph == null ? null : graph.toAdjacencyMap();
+  }
+
+  /**
+   * 用指定分词器读取文件并直接构建紧凑图，失败时返回 null.
+   */
+  public static WordGraph buildWordGraphFromFile(String filename, Tokenizer tokenizer) {
+    Path filePath = resolveUnderBaseDir(filename);
+    Metrics.Timer timer = Metrics.start("ingest");
+    try (Reader reader = openCorpusReader(filePath)) {
+      return buildWordGraph(reader, tokenizer);
+    } catch (IOException e) {
+      System.err.println("无法打开文件: " + e.getMessage());
+      return null;
+    } finally {
+      timer.stop();
+    }
+  }
+
+  /**
+   * 构建 n 阶图：顶点为 n-1 个单词的上下文（以 _ 连接，如 the_scientist），
+   * 得到的邻接表可直接用于桥接词、最短路径和随机游走.
+   */
+  public static Map<String, Map<String, Integer>> buildNGramGraph(String text, int n) {
+    Metrics.Timer timer = Metrics.start("graph_build");
+    WordGraph graph = NGramGraph.build(text, n).graph();
+    timer.stop();
+    return graph.toAdjacencyMap();
+  }
+
+  /**
+   * 读取文件并直接构建 n 阶图，失败时返回 null.
+   */
+  public static Map<String, Map<String, Integer>> buildNGramGraphFromFile(String filename,
+                                                                          int n) {
+    WordGraph graph = buildNGramWordGraphFromFile(filename, n);
+    return graph == null ? null : graph.toAdjacencyMap();
+  }
+
+  /**
+   * 读取文件并直接构建 n 阶紧凑图，失败时返回 null.
+   */
+  public static WordGraph buildNGramWordGraphFromFile(String filename, int n) {
+    Path filePath = resolveUnderBaseDir(filename);
+    Metrics.Timer timer = Metrics.start("ingest");
+    try (Reader reader = openCorpusReader(filePath)) {
+      return NGramGraph.build(reader, Tokenizer.defaultTokenizer(), n).graph();
+    } catch (IOException e) {
+      System.err.println("无法打开文件: " + e.getMessage());
+      return null;
+    } finally {
+      timer.stop();
+    }
+  }
+
+  /**
+   * 在内存预算（字节）内建图，去掉低频词和低权重边，并打印裁剪报告.
+   */
+  public static Map<String, Map<String, Integer>> buildPrunedGraph(String text,
+                                                                   long memoryBudgetBytes,
+                                                                   int minWordCount,
+                                                                   int minEdgeWeight) {
+    return buildPrunedWordGraph(text, memoryBudgetBytes, minWordCount, minEdgeWeight)
+            .toAdjacencyMap();
+  }
+
+  /**
+   * 在内存预算（字节）内构建紧凑图，并打印裁剪报告.
+   */
+  public static WordGraph buildPrunedWordGraph(String text, long memoryBudgetBytes,
+                                               int minWordCount, int minEdgeWeight) {
+    Metrics.Timer timer = Metrics.start("graph_build");
+    PrunedGraphBuilder.Report report = new PrunedGraphBuilder.Report();
+    WordGraph graph = PrunedGraphBuilder.build(text, memoryBudgetBytes, minWordCount,
+            minEdgeWeight, report);
+    System.out.println("裁剪建图：" + report);
+    timer.stop();
+    return graph;
+  }
+
+  /**
+   * 把图写成堆外存储文件，之后可用 OffHeapWordGraph.open 以内存映射方式打开.
+   */
+  public static void saveOffHeapGraph(Map<String, Map<String, Integer>> adjGraph,
+                                      String outputFilePath) throws IOException {
+    OffHeapWordGraph.write(WordGraph.fromAdjacencyMap(adjGraph),
+            resolveUnderBaseDir(outputFilePath));
+  }
+
+  /**
+   * 边分词边把文件写成堆外图（外排序，不在堆上构建整张图），返回打开的图；失败时返回 null.
+   */
+  public static OffHeapWordGraph buildOffHeapGraphFromFile(String filename,
+                                                           String outputFilePath,
+                                                           Tokenizer tokenizer) {
+    Path filePath = resolveUnderBaseDir(filename);
+    OffHeapWordGraph.Builder builder =
+            new OffHeapWordGraph.Builder(resolveUnderBaseDir(outputFilePath));
+    Metrics.Timer timer = Metrics.start("graph_build");
+    try (Reader reader = openCorpusReader(filePath)) {
+      tokenizer.tokenize(reader, builder::addWord);
+      return builder.build();
+    } catch (IOException | UncheckedIOException e) {
+      System.err.println("无法写出堆外图: " + e.getMessage());
+      return null;
+    } finally {
+      timer.stop();
+    }
+  }
+
+  /**
+   * 以内存映射方式打开堆外图文件.
+   */
+  public static OffHeapWordGraph openOffHeapGraph(String filename) throws IOException {
+    return OffHeapWordGraph.open(resolveUnderBaseDir(filename));
+  }
+
+  /**
+   * 并行读取目录或通配符（如 corpus/**.txt）匹配的所有文件并合并成一张图.
+   * 文件边界视为句子断开，不会在两个文件之间产生二元组；失败时返回 null.
+   */
+  public static Map<String, Map<String, Integer>> buildDirectedGraphFromCorpus(
+          String pathOrGlob, Tokenizer tokenizer, int threads) {
+    WordGraph graph = buildWordGraphFromCorpus(pathOrGlob, tokenizer, threads);
+    return graph == null ? null : graph.toAdjacencyMap();
+  }
+
+  /**
+   * 并行读取语料并合并成一张紧凑图：各文件的局部图按完成顺序累加到同一个构建器中.
+   */
+  public static WordGraph buildWordGraphFromCorpus(String pathOrGlob, Tokenizer tokenizer,
+                                                   int threads) {
+    List<Path> files;
+    try {
+      files = listCorpusFiles(pathOrGlob);
+    } catch (IOException e) {
+      System.err.println("无法列出语料文件: " + e.getMessage());
+      return null;
+    }
+    if (files.isEmpty()) {
+      System.err.println("没有匹配的语料文件: " + pathOrGlob);
+      return null;
+    }
+    WordGraph.Builder merged = new WordGraph.Builder();
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+    ExecutorCompletionService<WordGraph> completion = new ExecutorCompletionService<>(pool);
+    // 每个任务对应的文件字节数，完成时累加，吞吐量只按已读完的文件计算
+    Map<Future<WordGraph>, Long> fileBytes = new HashMap<>();
+    for (Path file : files) {
+      fileBytes.put(completion.submit(() -> {
+        try (Reader reader = openCorpusReader(file)) {
+          return buildWordGraph(reader, tokenizer);
+        }
+      }), file.toFile().length());
+    }
+    Metrics.Timer timer = Metrics.start("ingest");
+    long start = System.nanoTime();
+    int reportEvery = Math.max(1, files.size() / 20);
+    long doneBytes = 0;
+    try {
+      for (int done = 1; done <= files.size(); done++) {
+        // 各文件的局部图在主线程中按完成顺序合并
+        Future<WordGraph> part = completion.take();
+        mergeGraph(merged, part.get());
+        doneBytes += fileBytes.get(part);
+        if (done % reportEvery == 0 || done == files.size()) {
+          double seconds = Math.max((System.nanoTime() - start) / 1e9, 1e-9);
+          System.out.printf("已处理 %d/%d 个文件（%d 字节），%s%n", done, files.size(),
+                  doneBytes, formatRate(doneBytes / seconds));
+        }
+      }
+      return merged.build();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      System.err.println("语料读取被中断");
+      return null;
+    } catch (ExecutionException e) {
+      System.err.println("无法读取语料文件: " + e.getCause().getMessage());
+      return null;
+    } finally {
+      pool.shutdownNow();
+      timer.stop();
+    }
+  }
+
+  /** 按数量级选择 MB/s 或 KB/s，小语料也不会显示成 0.0. */
+  static String formatRate(double bytesPerSecond) {
+    double mb = bytesPerSecond / (1024.0 * 1024.0);
+    return mb >= 1 ? String.format("%.1f MB/s", mb)
+            : String.format("%.1f KB/s", bytesPerSecond / 1024.0);
+  }
+
+  /**
+   * 把 part 中的边权累加到构建器 target.
+   */
+  static void mergeGraph(WordGraph.Builder target, CompactGraph part) {
+    for (int v = 0; v < part.vertexCount(); v++) {
+      String from = part.word(v);
+      for (long e = part.firstEdge(v); e < part.firstEdge(v + 1); e++) {
+        target.addEdge(from, part.word(part.target(e)), part.weight(e));
+      }
+    }
+  }
+
+  /**
+   * 把 part 中的边权累加到 target.
+   */
+  public static void mergeGraph(Map<String, Map<String, Integer>> target,
+                                Map<String, Map<String, Integer>> part) {
+    for (Map.Entry<String, Map<String, Integer>> fromEntry : part.entrySet()) {
+      Map<String, Integer> edges = target.get(fromEntry.getKey());
+      if (edges == null) {
+        target.put(fromEntry.getKey(), fromEntry.getValue());
         continue;
       }
-      graph.putIfAbsent(from, new HashMap<>());
-      Map<String, Integer> edges = graph.get(from);
-      edges.put(to, edges.getOrDefault(to, 0) + 1);
+      for (Map.Entry<String, Integer> toEntry : fromEntry.getValue().entrySet()) {
+        edges.merge(toEntry.getKey(), toEntry.getValue(), Integer::sum);
+      }
+    }
+  }
+
+  private static List<Path> listCorpusFiles(String pathOrGlob) throws IOException {
+    Path baseDir = resolveUnderBaseDir(".");
+    int wildcard = indexOfWildcard(pathOrGlob);
+    if (wildcard < 0) {
+      Path path = resolveUnderBaseDir(pathOrGlob);
+      if (!Files.isDirectory(path)) {
+        return List.of(path);
+      }
+      try (Stream<Path> stream = Files.walk(path)) {
+        return stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+      }
+    }
+    // 从通配符之前的目录开始遍历，按相对项目根目录的路径匹配
+    String prefix = pathOrGlob.substring(0, wildcard);
+    int slash = Math.max(prefix.lastIndexOf('/'), prefix.lastIndexOf('\\'));
+    Path root = resolveUnderBaseDir(slash < 0 ? "." : prefix.substring(0, slash + 1));
+    PathMatcher matcher = baseDir.getFileSystem().getPathMatcher("glob:" + pathOrGlob);
+    try (Stream<Path> stream = Files.walk(root)) {
+      return stream.filter(Files::isRegularFile)
+              .filter(p -> matcher.matches(baseDir.relativize(p)))
+              .sorted()
+              .collect(Collectors.toList());
+    }
+  }
+
+  private static int indexOfWildcard(String pattern) {
+    for (int i = 0; i < pattern.length(); i++) {
+      if ("*?[{".indexOf(pattern.charAt(i)) >= 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * 以 UTF-8 流式打开一个语料文件，按文件头自动识别 gzip / zstd 压缩.
+   */
+  static Reader openCorpusReader(Path file) throws IOException {
+    InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+    try {
+      in.mark(4);
+      byte[] magic = in.readNBytes(4);
+      in.reset();
+      if (magic.length >= 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b) {
+        in = new GZIPInputStream(in, 1 << 16);
+      } else if (magic.length == 4 && (magic[0] & 0xff) == 0x28 && (magic[1] & 0xff) == 0xb5
+              && (magic[2] & 0xff) == 0x2f && (magic[3] & 0xff) == 0xfd) {
+        in = openZstd(in);
+      }
+      return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    } catch (IOException | RuntimeException e) {
+      in.close();
+      throw e;
     }
-    return graph;
   }
 
   /**
-   * 在命令行中展示有向图.
+   * JDK 不自带 zstd 解码，运行时存在 zstd-jni 时才支持.
+   */
+  private static InputStream openZstd(InputStream in) throws IOException {
+    try {
+      Class<?> type = Class.forName("com.github.luben.zstd.ZstdInputStream");
+      return (InputStream) type.getConstructor(InputStream.class).newInstance(in);
+    } catch (ClassNotFoundException e) {
+      throw new IOException("读取 zstd 压缩文件需要在类路径中加入 zstd-jni", e);
+    } catch (ReflectiveOperationException e) {
+      throw new IOException("无法创建 zstd 解码流", e);
+    }
+  }
+
+  /**
+   * 把相对路径解析到项目根目录下，越界时抛出 SecurityException.
+   */
+  static Path resolveUnderBaseDir(String filename) {
+    Path baseDir = Paths.get(System.getProperty("user.dir")).toAbsolutePath().normalize();
+    Path filePath = baseDir.resolve(filename).normalize();
+    if (!filePath.startsWith(baseDir)) {
+      throw new SecurityException("禁止访问基准目录之外的路径: " + filePath);
+    }
+    return filePath;
+  }
+
+  /** 边数超过此值时，showDirectedGraph 在完整输出之后提示如何过滤和分页. */
+  static final int PAGING_HINT_EDGES = 10_000;
+
+  /**
+   * 在命令行中展示有向图（全部边）.
    */
   public static void showDirectedGraph(Map<String, Map<String, Integer>> graph) {
+    showDirectedGraph(WordGraph.fromAdjacencyMap(graph));
+  }
+
+  /**
+   * 在命令行中展示已构建好的紧凑图（全部边）.
+   * 只看一部分时使用 showDirectedGraph(graph, GraphFilter) 按条件过滤或分页.
+   */
+  public static void showDirectedGraph(CompactGraph compact) {
     System.out.println("生成的有向图（命令行格式）：");
-    for (Map.Entry<String, Map<String, Integer>> fromEntry : graph.entrySet()) {
-      String from = fromEntry.getKey();
-      Map<String, Integer> edges = fromEntry.getValue();
-      for (Map.Entry<String, Integer> toEntry : edges.entrySet()) {
-        String to = toEntry.getKey();
-        Integer value = toEntry.getValue();
-        System.out.println(from + " -> " + to + " [values=" + value + "]");
+    long total = showDirectedGraph(compact, GraphFilter.all());
+    if (total > PAGING_HINT_EDGES) {
+      System.out.println("共 " + total + " 条边；只看一部分时可用 showDirectedGraph(graph, "
+              + "GraphFilter.builder().prefix(前缀).minWeight(最小权重).topPerNode(N)"
+              + ".page(页号, 每页行数).build()) 过滤并分页。");
+    }
+  }
+
+  /**
+   * 按过滤条件把边写到标准输出，返回匹配的总行数（不受分页限制）.
+   */
+  public static long showDirectedGraph(CompactGraph graph, GraphFilter filter) {
+    // 所有输出经过同一个大缓冲区，最后只刷新一次；不关闭 System.out
+    // 与 System.out.println 一样使用平台默认编码，前后的提示行与边列表编码一致
+    Writer out = new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset()),
+            1 << 16);
+    try {
+      long total = showDirectedGraph(graph, filter, out);
+      out.flush();
+      return total;
+    } catch (IOException e) {
+      System.err.println("输出有向图失败: " + e.getMessage());
+      return -1;
+    }
+  }
+
+  /**
+   * 按过滤条件写出 "from -> to [values=w]" 行，返回匹配的总行数（不受分页限制）.
+   */
+  public static long showDirectedGraph(CompactGraph graph, GraphFilter filter, Writer out)
+          throws IOException {
+    Metrics.Timer timer = Metrics.start("show_graph");
+    long matched = 0;
+    long end = filter.limit() == Long.MAX_VALUE ? Long.MAX_VALUE
+            : filter.offset() + filter.limit();
+    long[] selected = new long[16];
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      if (graph.outDegree(v) == 0) {
+        continue;
+      }
+      String from = graph.word(v);
+      if (!from.startsWith(filter.prefix())) {
+        continue;
+      }
+      // 选出权重达标的边；限制每个节点的边数时按 (权重降序, 终点编号) 排序后取前 N 条
+      int count = 0;
+      for (long e = graph.firstEdge(v); e < graph.firstEdge(v + 1); e++) {
+        int weight = graph.weight(e);
+        if (weight < filter.minWeight()) {
+          continue;
+        }
+        if (count == selected.length) {
+          selected = Arrays.copyOf(selected, count * 2);
+        }
+        selected[count++] = ((long) (Integer.MAX_VALUE - weight) << 32) | graph.target(e);
+      }
+      if (filter.topPerNode() != Integer.MAX_VALUE) {
+        Arrays.sort(selected, 0, count);
+        count = Math.min(count, filter.topPerNode());
+      }
+      for (int i = 0; i < count; i++, matched++) {
+        if (matched < filter.offset() || matched >= end) {
+          continue;
+        }
+        int to = (int) selected[i];
+        out.write(from);
+        out.write(" -> ");
+        out.write(graph.word(to));
+        out.write(" [values=");
+        out.write(Integer.toString(Integer.MAX_VALUE - (int) (selected[i] >>> 32)));
+        out.write("]\n");
       }
     }
+    timer.stop();
+    return matched;
+  }
 
+  /**
+   * 输出图的统计信息（规模、度与边权分布、悬挂节点、强连通分量）.
+   */
+  public static GraphStats showGraphStatistics(Map<String, Map<String, Integer>> graph) {
+    return showGraphStatistics(WordGraph.fromAdjacencyMap(graph));
+  }
+
+  /**
+   * 输出紧凑图的统计信息.
+   */
+  public static GraphStats showGraphStatistics(CompactGraph graph) {
+    System.out.println("/******************** 图统计 ********************/");
+    Metrics.Timer timer = Metrics.start("stats");
+    GraphStats stats = GraphStats.compute(graph, Runtime.getRuntime().availableProcessors());
+    timer.stop();
+    System.out.print(stats.report());
+    return stats;
   }
 
   /**
@@ -107,6 +554,7 @@ public class Main {
    */
   public static Graph<String, DefaultWeightedEdge> convertToJgraphT(
           Map<String, Map<String, Integer>> adjGraph) {
+    Metrics.Timer timer = Metrics.start("convert");
     Graph<String, DefaultWeightedEdge> jgraph = new DefaultDirectedWeightedGraph<>(
             DefaultWeightedEdge.class);
     for (Map.Entry<String, Map<String, Integer>> fromEntry : adjGraph.entrySet()) {
@@ -123,6 +571,27 @@ public class Main {
         }
       }
     }
+    timer.stop();
+    return jgraph;
+  }
+
+  /**
+   * 由紧凑图生成带权重的 JGraphT 图（顶点按编号顺序加入）.
+   */
+  public static Graph<String, DefaultWeightedEdge> convertToJgraphT(CompactGraph graph) {
+    Metrics.Timer timer = Metrics.start("convert");
+    Graph<String, DefaultWeightedEdge> jgraph = new DefaultDirectedWeightedGraph<>(
+            DefaultWeightedEdge.class);
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      jgraph.addVertex(graph.word(v));
+    }
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      for (long e = graph.firstEdge(v); e < graph.firstEdge(v + 1); e++) {
+        DefaultWeightedEdge edge = jgraph.addEdge(graph.word(v), graph.word(graph.target(e)));
+        jgraph.setEdgeWeight(edge, graph.weight(e));
+      }
+    }
+    timer.stop();
     return jgraph;
   }
 
@@ -130,6 +599,13 @@ public class Main {
    * 查询桥接词（支持多次查询，输入 exit 退出）.
    */
   public static void queryBridgeWords(Map<String, Map<String, Integer>> graph) {
+    queryBridgeWords(WordGraph.fromAdjacencyMap(graph));
+  }
+
+  /**
+   * 在紧凑图上查询桥接词；邻接段按编号有序，每次查询对 out(word1) 与 in(word2) 求交.
+   */
+  public static void queryBridgeWords(CompactGraph compact) {
     Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8);
     System.out.println("/******************** 查询桥接词 ********************/");
     System.out.println("请输入两个单词（用空格分隔），或者输入 exit 退出：");
@@ -145,43 +621,104 @@ public class Main {
         System.out.println("输入格式错误！请确保输入两个英文单词。");
         continue;
       }
-      String word1 = parts[0].toLowerCase();
-      String word2 = parts[1].toLowerCase();
-      // 检查 word1、word2 是否在图中
-      if (!graph.containsKey(word1) || !graph.containsKey(word2)) {
-        System.out.println("No " + word1 + " or " + word2 + " in the graph!");
-        continue;
-      }
-      List<String> bridgeWords = new ArrayList<>();
-      Map<String, Integer> fromEdges = graph.get(word1);
-      for (String bridgeCandidate : fromEdges.keySet()) {
-        Map<String, Integer> bridgeEdges = graph.get(bridgeCandidate);
-        if (bridgeEdges != null && bridgeEdges.containsKey(word2)) {
-          bridgeWords.add(bridgeCandidate);
+      Metrics.Timer timer = Metrics.start("bridge_query");
+      try {
+        String word1 = parts[0].toLowerCase();
+        String word2 = parts[1].toLowerCase();
+        // 检查 word1、word2 是否在图中（与邻接表一致，没有出边的单词视为不在图中）
+        if (!hasOutEdges(compact, word1) || !hasOutEdges(compact, word2)) {
+          System.out.println("No " + word1 + " or " + word2 + " in the graph!");
+          continue;
         }
-      }
-      if (bridgeWords.isEmpty()) {
-        System.out.println("No bridge words from " + word1 + " to " + word2 + "!");
-      } else {
-        System.out.print("The bridge words from " + word1 + " to " + word2 + " are: ");
-        for (int i = 0; i < bridgeWords.size(); i++) {
-          System.out.print(bridgeWords.get(i));
-          if (i < bridgeWords.size() - 2) {
-            System.out.print(", ");
-          } else if (i == bridgeWords.size() - 2) {
-            System.out.print(", and ");
+        List<String> bridgeWords = new ArrayList<>();
+        for (int bridge : GraphAlgorithms.bridgeWords(compact,
+                compact.id(word1), compact.id(word2))) {
+          bridgeWords.add(compact.word(bridge));
+        }
+        if (bridgeWords.isEmpty()) {
+          System.out.println("No bridge words from " + word1 + " to " + word2 + "!");
+        } else {
+          System.out.print("The bridge words from " + word1 + " to " + word2 + " are: ");
+          for (int i = 0; i < bridgeWords.size(); i++) {
+            System.out.print(bridgeWords.get(i));
+            if (i < bridgeWords.size() - 2) {
+              System.out.print(", ");
+            } else if (i == bridgeWords.size() - 2) {
+              System.out.print(", and ");
+            }
           }
+          System.out.println(".");
         }
-        System.out.println(".");
+      } finally {
+        timer.stop();
+      }
+    }
+  }
+
+  private static boolean hasOutEdges(CompactGraph graph, String word) {
+    int id = graph.id(word);
+    return id >= 0 && graph.outDegree(id) > 0;
+  }
+
+  /** 自动补全每个单词预先保存的候选数. */
+  static final int SUGGESTION_COUNT = 5;
+
+  /**
+   * 下一个单词的自动补全（支持多次查询，输入 exit 退出）.
+   */
+  public static void queryNextWords(Map<String, Map<String, Integer>> graph) {
+    queryNextWords(WordGraph.fromAdjacencyMap(graph));
+  }
+
+  /**
+   * 在紧凑图上进行下一个单词的自动补全.
+   */
+  public static void queryNextWords(CompactGraph graph) {
+    Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8);
+    System.out.println("/******************** 单词补全 ********************/");
+    // 构建时一次算好每个单词的前 k 个后继，查询只读数组
+    Autocomplete autocomplete = Autocomplete.build(graph, SUGGESTION_COUNT);
+    System.out.println("请输入一个单词，或者输入 exit 退出：");
+    while (true) {
+      System.out.print("> ");
+      String word = scanner.nextLine().trim().toLowerCase();
+      if (word.equalsIgnoreCase("exit")) {
+        System.out.println("已退出单词补全。");
+        break;
+      }
+      Metrics.Timer timer = Metrics.start("autocomplete");
+      List<String> next = autocomplete.suggest(word, SUGGESTION_COUNT);
+      if (next.isEmpty()) {
+        System.out.println("No suggestions after " + word + "!");
+      } else {
+        System.out.println("下一个单词：" + String.join(", ", next));
+        System.out.println("两词续写：" + String.join(", ",
+                autocomplete.continuations(word, SUGGESTION_COUNT)));
       }
+      timer.stop();
     }
   }
 
+  /**
+   * 批量计算所有词对的桥接词个数（A·A，每个 word1 只保留最多的 topN 个 word2），
+   * 流式写入文件，返回写出的词对数.
+   */
+  public static long bridgeCountsToFile(CompactGraph graph, String outputFilePath, int topN)
+          throws IOException {
+    Metrics.Timer timer = Metrics.start("bridge_matrix");
+    long pairs = BridgeMatrix.writeTo(graph, resolveUnderBaseDir(outputFilePath), topN,
+            Runtime.getRuntime().availableProcessors());
+    timer.stop();
+    System.out.println("已写入 " + pairs + " 个词对的桥接词个数：" + outputFilePath);
+    return pairs;
+  }
+
   /**
    * 导出图像并显示边的权重.
    */
   public static void exportGraph(Graph<String, DefaultWeightedEdge> graph,
                                  String dotFilePath, String pngFilePath) throws IOException {
+    Metrics.Timer timer = Metrics.start("render");
     DOTExporter<String, DefaultWeightedEdge> exporter = new DOTExporter<>(v -> v);
     exporter.setVertexAttributeProvider(v -> Map.of("label", DefaultAttribute.createAttribute(v)));
     exporter.setEdgeAttributeProvider(e -> {
@@ -200,6 +737,7 @@ public class Main {
     Graphviz.fromFile(dotFile.toFile())
             .render(Format.PNG)
             .toFile(pngFile.toFile());
+    timer.stop();
     System.out.println("图像生成完毕: " + pngFilePath);
   }
 
@@ -207,8 +745,31 @@ public class Main {
    * 生成包含桥接词的新文本.
    */
   public static void generateNewText(Map<String, Map<String, Integer>> graph) {
+    generateNewText(graph, BridgeTable.Mode.UNIFORM);
+  }
+
+  /**
+   * 在紧凑图上交互生成包含桥接词的新文本.
+   */
+  public static void generateNewText(CompactGraph graph) {
+    generateNewText(graph, BridgeTable.Mode.UNIFORM);
+  }
+
+  /**
+   * 生成包含桥接词的新文本，按给定方式在多个桥接词中选择.
+   */
+  public static void generateNewText(Map<String, Map<String, Integer>> graph,
+                                     BridgeTable.Mode mode) {
+    generateNewText(WordGraph.fromAdjacencyMap(graph), mode);
+  }
+
+  /**
+   * 在紧凑图上交互生成新文本，按给定方式在多个桥接词中选择.
+   */
+  public static void generateNewText(CompactGraph compact, BridgeTable.Mode mode) {
     Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8);
     System.out.println("/******************** 生成包含桥接词的新文本 ********************/");
+    BridgeTable bridgeTable = new BridgeTable(compact);
     System.out.println("请输入一段文本（至少两个单词，用空格分隔开），或输入 exit 退出：");
     while (true) {
       System.out.print("> ");
@@ -222,6 +783,7 @@ public class Main {
         System.out.println("文本过短，无法生成桥接词扩展。\n");
         continue;
       }
+      Metrics.Timer timer = Metrics.start("generate");
       StringBuilder newText = new StringBuilder();
       SecureRandom random = new SecureRandom();
       for (int i = 0; i < words.length - 1; i++) {
@@ -229,34 +791,124 @@ public class Main {
         String word2 = words[i + 1];
         newText.append(word1).append(" ");
         // 查找桥接词：word1 -> bridge -> word2
-        List<String> bridgeWords = new ArrayList<>();
-        Map<String, Integer> word1Edges = graph.get(word1);
-        if (word1Edges != null) {
-          for (String bridge : word1Edges.keySet()) {
-            Map<String, Integer> bridgeEdges = graph.get(bridge);
-            if (bridgeEdges != null && bridgeEdges.containsKey(word2)) {
-              bridgeWords.add(bridge);
-            }
-          }
-        }
-        if (!bridgeWords.isEmpty()) {
-          String chosenBridge = bridgeWords.get(random.nextInt(bridgeWords.size()));
-          newText.append(chosenBridge).append(" ");
+        int bridge = bridgeTable.select(compact.id(word1), compact.id(word2), mode,
+                random.nextDouble());
+        if (bridge >= 0) {
+          newText.append(compact.word(bridge)).append(" ");
         }
       }
       newText.append(words[words.length - 1]);
+      timer.stop();
       System.out.println("生成的新文本：");
       System.out.println(newText.toString());
     }
   }
 
+  /** 并行生成新文本时每个分块包含的相邻词对数. */
+  static final int GENERATE_CHUNK_PAIRS = 1 << 16;
+
+  /**
+   * 并行生成包含桥接词的新文本（用于整篇文档）.
+   * 输入按固定词对数分块，每块使用由 seed 依次分裂出的独立随机数流，
+   * 各块并行插入桥接词后按原顺序拼接；同一 seed 的结果与线程数无关.
+   */
+  public static String generateNewText(CompactGraph graph, String text, long seed,
+                                       int threads) {
+    return generateNewText(graph, text, seed, threads, BridgeTable.Mode.UNIFORM);
+  }
+
+  /**
+   * 并行生成新文本，按给定方式在多个桥接词中选择；同一词对的桥接词只计算一次.
+   */
+  public static String generateNewText(CompactGraph graph, String text, long seed,
+                                       int threads, BridgeTable.Mode mode) {
+    String[] words = text.toLowerCase().trim().split("\\s+");
+    if (words.length < 2) {
+      return words[0];
+    }
+    Metrics.Timer timer = Metrics.start("generate");
+    int pairs = words.length - 1;
+    int chunks = (pairs + GENERATE_CHUNK_PAIRS - 1) / GENERATE_CHUNK_PAIRS;
+    // 在提交任务前按块号顺序分裂随机数流，保证可复现
+    SplittableRandom root = new SplittableRandom(seed);
+    SplittableRandom[] streams = new SplittableRandom[chunks];
+    for (int c = 0; c < chunks; c++) {
+      streams[c] = root.split();
+    }
+    int[] ids = new int[words.length];
+    for (int i = 0; i < words.length; i++) {
+      ids[i] = graph.id(words[i]);
+    }
+    BridgeTable bridgeTable = new BridgeTable(graph);
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, chunks)));
+    List<Future<String>> parts = new ArrayList<>();
+    for (int c = 0; c < chunks; c++) {
+      final int chunk = c;
+      parts.add(pool.submit(() -> {
+        StringBuilder sb = new StringBuilder();
+        SplittableRandom random = streams[chunk];
+        int end = Math.min(pairs, (chunk + 1) * GENERATE_CHUNK_PAIRS);
+        for (int i = chunk * GENERATE_CHUNK_PAIRS; i < end; i++) {
+          sb.append(words[i]).append(' ');
+          int bridge = bridgeTable.select(ids[i], ids[i + 1], mode, random.nextDouble());
+          if (bridge >= 0) {
+            sb.append(graph.word(bridge)).append(' ');
+          }
+        }
+        return sb.toString();
+      }));
+    }
+    StringBuilder newText = new StringBuilder(text.length() + text.length() / 2);
+    try {
+      for (Future<String> part : parts) {
+        newText.append(part.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("新文本生成被中断", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("新文本生成失败", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    newText.append(words[words.length - 1]);
+    timer.stop();
+    return newText.toString();
+  }
+
+  /** 最短路径查询使用的地标数. */
+  static final int SHORTEST_PATH_LANDMARKS = 8;
+
   /**
    * 查询最短路径（支持1个或2个单词）.
    */
   public static void calcShortestPath(Graph<String, DefaultWeightedEdge> graph,
                                       String dotPath, String pngPath) throws IOException {
+    calcShortestPath(graph, dotPath, pngPath, EdgeCosts.Model.COUNT);
+  }
+
+  /**
+   * 查询最短路径，按给定代价模型计算长度（PROBABILITY 为 -log P，即最可能的单词链）.
+   */
+  public static void calcShortestPath(Graph<String, DefaultWeightedEdge> graph,
+                                      String dotPath, String pngPath,
+                                      EdgeCosts.Model model) throws IOException {
+    calcShortestPath(graph, WordGraph.fromJgraphT(graph), dotPath, pngPath, model);
+  }
+
+  /**
+   * 在已构建好的紧凑图上查询最短路径；graph 只用于导出高亮路径的图像.
+   * compact 的编号顺序决定单源查询的输出顺序.
+   */
+  public static void calcShortestPath(Graph<String, DefaultWeightedEdge> graph,
+                                      CompactGraph compact, String dotPath, String pngPath,
+                                      EdgeCosts.Model model) throws IOException {
     Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8);
     System.out.println("/******************** 最短路径查询 ********************/");
+    // 强连通分量和边代价按图与代价模型缓存，再次调用时不重新计算
+    PathIndex index = pathIndex(compact, model);
+    SccIndex sccIndex = index.sccIndex;
+    EdgeCosts costs = index.costs;
     System.out.println("请输入1个或2个单词（用空格分隔），或输入 exit 退出：");
     while (true) {
       System.out.print("> ");
@@ -265,61 +917,133 @@ public class Main {
         System.out.println("已退出最短路径查询。");
         break;
       }
-      String[] parts = line.split("\\s+");
-      if (parts.length == 1) {
-        String source = parts[0];
-        if (!graph.containsVertex(source)) {
-          System.out.println("图中不存在单词：" + source);
-          continue;
-        }
-        DijkstraShortestPath<String,
-                DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
-        for (String target : graph.vertexSet()) {
-          if (source.equals(target)) {
+      Metrics.Timer timer = Metrics.start("shortest_path");
+      try {
+        String[] parts = line.split("\\s+");
+        if (parts.length == 1) {
+          String source = parts[0];
+          int sourceId = compact.id(source);
+          if (sourceId < 0) {
+            System.out.println("图中不存在单词：" + source);
             continue;
           }
-          GraphPath<String, DefaultWeightedEdge> path = dijkstra.getPath(source, target);
-          if (path != null) {
+          // 边权为整数，一次基数堆 Dijkstra 得到到所有顶点的距离和前驱
+          int[] pred = new int[compact.vertexCount()];
+          long[] dist = GraphAlgorithms.shortestDistances(compact, costs, sourceId, pred);
+          for (int targetId = 0; targetId < compact.vertexCount(); targetId++) {
+            if (targetId == sourceId || !sccIndex.canReach(sourceId, targetId)) {
+              continue;
+            }
+            String target = compact.word(targetId);
+            List<String> words = new ArrayList<>();
+            for (int v : GraphAlgorithms.pathTo(pred, sourceId, targetId)) {
+              words.add(compact.word(v));
+            }
             // 使用箭头分隔节点，构造路径的输出
-            String pathString = String.join(" -> ", path.getVertexList());
+            String pathString = String.join(" -> ", words);
             System.out.println("最短路径 " + source
-                    + " -> " + target + " ：" + pathString + "，长度 = " + path.getWeight());
+                    + " -> " + target + " ：" + pathString + "，长度 = "
+                    + costs.length(dist[targetId]));
           }
-        }
-      } else if (parts.length == 2) {
-        String source = parts[0];
-        String target = parts[1];
-        if (!graph.containsVertex(source) || !graph.containsVertex(target)) {
-          System.out.println("图中缺少单词：" + source + " 或 " + target);
-          continue;
-        }
-        YenKShortestPath<String, DefaultWeightedEdge> yen = new YenKShortestPath<>(graph);
-        List<GraphPath<String, DefaultWeightedEdge>> paths = yen.getPaths(source, target, 10);
-        if (paths.isEmpty()) {
-          System.out.println("从 " + source + " 到 " + target + " 不可达！");
-        } else {
-          double minWeight = paths.get(0).getWeight();
-          List<GraphPath<String, DefaultWeightedEdge>> shortestPaths = new ArrayList<>();
-          for (GraphPath<String, DefaultWeightedEdge> path : paths) {
-            if (path.getWeight() == minWeight) {
-              shortestPaths.add(path);
-            }
+        } else if (parts.length == 2) {
+          String source = parts[0];
+          String target = parts[1];
+          if (compact.id(source) < 0 || compact.id(target) < 0) {
+            System.out.println("图中缺少单词：" + source + " 或 " + target);
+            continue;
           }
-          System.out.println("最短路径长度：" + minWeight);
-          for (int i = 0; i < shortestPaths.size(); i++) {
-            // 获取路径的节点列表并将它们用箭头连接
-            String pathString = String.join(" -> ", shortestPaths.get(i).getVertexList());
-            System.out.println("路径 " + (i + 1) + ": " + pathString);
+          if (!sccIndex.canReach(compact.id(source), compact.id(target))) {
+            System.out.println("从 " + source + " 到 " + target + " 不可达！");
+            continue;
           }
-          highlightPathsInGraph(graph, shortestPaths, dotPath, pngPath);
-          System.out.println("最短路径图已导出至: " + pngPath);
+          List<int[]> paths = GraphAlgorithms.shortestPaths(compact, costs, compact.id(source),
+                  compact.id(target), index.landmarks(compact), 10, null);
+          if (paths.isEmpty()) {
+            System.out.println("从 " + source + " 到 " + target + " 不可达！");
+          } else {
+            List<GraphPath<String, DefaultWeightedEdge>> shortestPaths = new ArrayList<>();
+            double minWeight = 0;
+            for (int[] path : paths) {
+              List<String> vertexList = new ArrayList<>();
+              long cost = 0;
+              for (int i = 0; i < path.length; i++) {
+                vertexList.add(compact.word(path[i]));
+                if (i > 0) {
+                  cost += edgeCost(compact, costs, path[i - 1], path[i]);
+                }
+              }
+              minWeight = costs.length(cost);
+              shortestPaths.add(new GraphWalk<>(graph, vertexList, minWeight));
+            }
+            System.out.println("最短路径长度：" + minWeight);
+            for (int i = 0; i < shortestPaths.size(); i++) {
+              // 获取路径的节点列表并将它们用箭头连接
+              String pathString = String.join(" -> ", shortestPaths.get(i).getVertexList());
+              System.out.println("路径 " + (i + 1) + ": " + pathString);
+            }
+            highlightPathsInGraph(graph, shortestPaths, dotPath, pngPath);
+            System.out.println("最短路径图已导出至: " + pngPath);
+          }
+        } else {
+          System.out.println("输入格式有误！请输入一个或两个英文单词。");
         }
-      } else {
-        System.out.println("输入格式有误！请输入一个或两个英文单词。");
+      } finally {
+        timer.stop();
       }
     }
   }
 
+  /** 每个图在各代价模型下的最短路径索引；图不再使用时随之回收. */
+  private static final Map<CompactGraph, Map<EdgeCosts.Model, PathIndex>> PATH_INDEXES =
+          new WeakHashMap<>();
+
+  /**
+   * 最短路径查询共用的索引：不可达判断用的强连通分量与预先算好的边代价.
+   * 地标索引要做 2k 次完整的 Dijkstra，只有两词查询才用到，第一次需要时才构建.
+   */
+  static final class PathIndex {
+    final SccIndex sccIndex;
+    final EdgeCosts costs;
+    private LandmarkIndex landmarks;
+
+    PathIndex(SccIndex sccIndex, EdgeCosts costs) {
+      this.sccIndex = sccIndex;
+      this.costs = costs;
+    }
+
+    /** 两词查询的 A* 启发函数，列出全部并列的最短路径；graph 须是构建本索引的图. */
+    synchronized LandmarkIndex landmarks(CompactGraph graph) {
+      if (landmarks == null) {
+        landmarks = LandmarkIndex.build(graph, costs, SHORTEST_PATH_LANDMARKS,
+                LandmarkIndex.Selection.FARTHEST);
+      }
+      return landmarks;
+    }
+  }
+
+  /** 取出（或构建）graph 在 model 下的最短路径索引；不保存 graph 的强引用. */
+  static PathIndex pathIndex(CompactGraph graph, EdgeCosts.Model model) {
+    synchronized (PATH_INDEXES) {
+      Map<EdgeCosts.Model, PathIndex> byModel =
+              PATH_INDEXES.computeIfAbsent(graph, g -> new EnumMap<>(EdgeCosts.Model.class));
+      PathIndex index = byModel.get(model);
+      if (index == null) {
+        // 强连通分量与代价模型无关，其他模型已有索引时直接共用
+        SccIndex sccIndex = byModel.isEmpty()
+                ? SccIndex.build(graph) : byModel.values().iterator().next().sccIndex;
+        index = new PathIndex(sccIndex, EdgeCosts.build(graph, model));
+        byModel.put(model, index);
+      }
+      return index;
+    }
+  }
+
+  /** 边 from -> to 在代价模型下的代价. */
+  private static long edgeCost(CompactGraph graph, EdgeCosts costs, int from, int to) {
+    long edge = GraphAlgorithms.findEdge(graph, from, to);
+    return edge >= 0 ? costs.cost(graph, edge) : 0;
+  }
+
   /**
    * 显示路径信息.
    */
@@ -327,6 +1051,7 @@ public class Main {
                                              List<GraphPath<String, DefaultWeightedEdge>> paths,
                                              String dotFilePath, String pngFilePath
   ) throws IOException {
+    Metrics.Timer timer = Metrics.start("render");
     // 准备颜色列表（可扩展）
     String[] colors = {"blue", "red", "green", "orange", "purple", "brown", "cyan"};
     Map<DefaultWeightedEdge, String> edgeColorMap = new HashMap<>();
@@ -371,7 +1096,7 @@ public class Main {
     Graphviz.fromFile(dotFile.toFile())
             .render(Format.PNG)
             .toFile(pngFile.toFile());
-
+    timer.stop();
   }
 
   /**
@@ -379,124 +1104,523 @@ public class Main {
    */
   public static Map<String, Double> calPageRank(Graph<String, DefaultWeightedEdge> graph,
                                                 double dampingFactor, int maxIterations) {
+    return calPageRank(WordGraph.fromJgraphT(graph), dampingFactor, maxIterations);
+  }
+
+  /**
+   * 在紧凑图上计算PageRank.
+   */
+  public static Map<String, Double> calPageRank(CompactGraph compact, double dampingFactor,
+                                                int maxIterations) {
+    double[] rank = pageRankScores(compact, dampingFactor, maxIterations);
+    Map<String, Double> pageRank = new HashMap<>();
+    for (int v = 0; v < rank.length; v++) {
+      pageRank.put(compact.word(v), rank[v]);
+    }
+    return pageRank;
+  }
+
+  /**
+   * 在紧凑图上计算PageRank，按顶点编号返回分数数组（不装箱，不生成单词映射）.
+   */
+  public static double[] pageRankScores(CompactGraph compact, double dampingFactor,
+                                        int maxIterations) {
     System.out.println("/******************** 计算PageRank ********************/");
-    // 初始化PR值
+    Metrics.Timer timer = Metrics.start("pagerank");
+    int numNodes = compact.vertexCount();
+    // 初始化每个节点的PR值为其 入度+出度 之和
+    double[] rank = new double[numNodes];
+    for (int v = 0; v < numNodes; v++) {
+      rank[v] = compact.inDegree(v) + compact.outDegree(v);
+    }
+    // PageRank迭代计算：沿反向邻接数组累加每个前驱的 PR值 / 出度
+    // （前驱至少有一条出边，所以不存在出度为0的前驱）
+    for (int iteration = 0; iteration < maxIterations; iteration++) {
+      rank = GraphAlgorithms.pullIteration(compact, rank, (1.0 - dampingFactor) / numNodes,
+              dampingFactor);
+    }
+    timer.stop();
+    return rank;
+  }
+
+  /**
+   * 查询所有指向 word 的前驱单词（即哪些词后面紧跟着 word）.
+   */
+  public static List<String> queryPredecessors(CompactGraph graph, String word) {
+    List<String> result = new ArrayList<>();
+    int id = graph.id(word.toLowerCase());
+    if (id < 0) {
+      return result;
+    }
+    for (int predecessor : GraphAlgorithms.predecessors(graph, id)) {
+      result.add(graph.word(predecessor));
+    }
+    return result;
+  }
+
+  /**
+   * 计算以种子单词为中心的个性化PageRank（幂迭代，随机跳转只落在种子上）.
+   */
+  public static Map<String, Double> calPersonalizedPageRank(
+          Graph<String, DefaultWeightedEdge> graph, Collection<String> seeds,
+          double dampingFactor, int maxIterations) {
+    Map<String, Double> teleport = seedVector(seeds, graph::containsVertex);
     Map<String, Double> pageRank = new HashMap<>();
-    int numNodes = graph.vertexSet().size();
-    // STEP 1：计算每个节点的 入度+出度 之和，并统计总和
-    Map<String, Integer> degreeMap = new HashMap<>();
-    for (String node : graph.vertexSet()) {
-      int in = graph.inDegreeOf(node);
-      int out = graph.outDegreeOf(node);
-      int sum = in + out;
-      degreeMap.put(node, sum);
+    if (teleport.isEmpty()) {
+      return pageRank;
     }
-    // STEP 2：初始化每个节点的PageRank为其度在总度数中的占比
     for (String node : graph.vertexSet()) {
-      pageRank.put(node, (double) degreeMap.get(node));
+      pageRank.put(node, teleport.getOrDefault(node, 0.0));
     }
-    // PageRank迭代计算
     for (int iteration = 0; iteration < maxIterations; iteration++) {
+      // 出度为0的节点，其PR值全部跳回种子
+      double dangling = 0.0;
+      for (String node : graph.vertexSet()) {
+        if (graph.outDegreeOf(node) == 0) {
+          dangling += pageRank.get(node);
+        }
+      }
       Map<String, Double> newPageRank = new HashMap<>();
-      // 对每个节点计算新的PageRank
       for (String node : graph.vertexSet()) {
-        double newPr = (1.0 - dampingFactor) / numNodes;  // PR值的基础部分
         double sum = 0.0;
-        Set<String> inboundNeighbors = graph.incomingEdgesOf(node).stream()
-                .map(graph::getEdgeSource)
-                .collect(Collectors.toSet());
-        // 对于每个指向当前节点的节点，累加其PR值 / 出度
-        for (String neighbor : inboundNeighbors) {
-          int outDegree = graph.outDegreeOf(neighbor);
-          if (outDegree == 0) {
-            // 如果出度为0，均分该节点的PR值给其他所有节点
-            double distributedPr = pageRank.get(neighbor) / (numNodes - 1);
-            for (String otherNode : graph.vertexSet()) {
-              if (!otherNode.equals(neighbor)) {
-                newPageRank.put(otherNode,
-                        newPageRank.getOrDefault(otherNode, 0.0) + distributedPr);
-              }
-            }
-          } else {
-            sum += pageRank.get(neighbor) / outDegree;
-          }
+        for (DefaultWeightedEdge edge : graph.incomingEdgesOf(node)) {
+          String neighbor = graph.getEdgeSource(edge);
+          sum += pageRank.get(neighbor) / graph.outDegreeOf(neighbor);
         }
-        newPr += dampingFactor * sum;
-        newPageRank.put(node, newPr);
+        double jump = teleport.getOrDefault(node, 0.0);
+        newPageRank.put(node, (1.0 - dampingFactor) * jump
+                + dampingFactor * (sum + dangling * jump));
       }
-      // 更新PR值
       pageRank = newPageRank;
     }
     return pageRank;
   }
 
   /**
-   * 随机游走.
+   * 局部推送法近似个性化PageRank，只访问种子附近残差超过阈值的节点.
+   */
+  public static Map<String, Double> calPersonalizedPageRankPush(
+          Map<String, Map<String, Integer>> graph, Collection<String> seeds,
+          double dampingFactor, double epsilon) {
+    return calPersonalizedPageRankPush(WordGraph.fromAdjacencyMap(graph), seeds, dampingFactor,
+            epsilon);
+  }
+
+  /**
+   * 在紧凑图上局部推送：种子按 id(w) >= 0 判断是否存在，残差与估计值存在按编号的数组中.
+   */
+  public static Map<String, Double> calPersonalizedPageRankPush(
+          CompactGraph graph, Collection<String> seeds, double dampingFactor, double epsilon) {
+    Map<String, Double> teleport = seedVector(seeds, w -> graph.id(w) >= 0);
+    Map<String, Double> result = new HashMap<>();
+    if (teleport.isEmpty()) {
+      return result;
+    }
+    int n = graph.vertexCount();
+    int[] seedIds = new int[teleport.size()];
+    double[] seedMass = new double[teleport.size()];
+    double[] estimate = new double[n];
+    double[] residual = new double[n];
+    boolean[] queued = new boolean[n];
+    // 每个节点同时最多在队列中出现一次，容量为 n 的环形队列足够
+    int[] queue = new int[n];
+    int head = 0;
+    int size = 0;
+    int s = 0;
+    for (Map.Entry<String, Double> jump : teleport.entrySet()) {
+      seedIds[s] = graph.id(jump.getKey());
+      seedMass[s] = jump.getValue();
+      residual[seedIds[s]] = seedMass[s];
+      queued[seedIds[s]] = true;
+      queue[(head + size++) % n] = seedIds[s];
+      s++;
+    }
+    while (size > 0) {
+      int node = queue[head];
+      head = (head + 1) % n;
+      size--;
+      queued[node] = false;
+      double mass = residual[node];
+      int degree = graph.outDegree(node);
+      if (mass < epsilon * Math.max(degree, 1)) {
+        continue;
+      }
+      residual[node] = 0.0;
+      estimate[node] += (1.0 - dampingFactor) * mass;
+      // 悬挂节点的残差按跳转向量回到种子，其余均分给出边邻居
+      int count = degree == 0 ? seedIds.length : degree;
+      for (int i = 0; i < count; i++) {
+        int target;
+        double add;
+        if (degree == 0) {
+          target = seedIds[i];
+          add = dampingFactor * mass * seedMass[i];
+        } else {
+          target = graph.target(graph.firstEdge(node) + i);
+          add = dampingFactor * mass / degree;
+        }
+        residual[target] += add;
+        if (!queued[target]
+                && residual[target] >= epsilon * Math.max(graph.outDegree(target), 1)) {
+          queued[target] = true;
+          queue[(head + size++) % n] = target;
+        }
+      }
+    }
+    for (int v = 0; v < n; v++) {
+      if (estimate[v] > 0) {
+        result.put(graph.word(v), estimate[v]);
+      }
+    }
+    return result;
+  }
+
+  private static Map<String, Double> seedVector(Collection<String> seeds,
+                                                Predicate<String> exists) {
+    Set<String> valid = new LinkedHashSet<>();
+    for (String seed : seeds) {
+      String word = seed.toLowerCase();
+      if (exists.test(word)) {
+        valid.add(word);
+      }
+    }
+    Map<String, Double> teleport = new HashMap<>();
+    for (String word : valid) {
+      teleport.put(word, 1.0 / valid.size());
+    }
+    return teleport;
+  }
+
+  /**
+   * 取PageRank最高的前K个单词（有界小顶堆，按PR值降序返回）.
+   */
+  public static List<Map.Entry<String, Double>> topKPageRank(Map<String, Double> pageRank,
+                                                             int k) {
+    List<Map.Entry<String, Double>> result = new ArrayList<>();
+    if (k <= 0 || pageRank.isEmpty()) {
+      return result;
+    }
+    // 堆顶为当前K个中最小者；同分时按单词字典序保证结果稳定
+    // 初始容量按实际元素数，k 很大（如 Integer.MAX_VALUE）时不溢出也不多分配
+    PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(
+            Math.min(k, pageRank.size()) + 1,
+            (a, b) -> {
+              int cmp = Double.compare(a.getValue(), b.getValue());
+              return cmp != 0 ? cmp : b.getKey().compareTo(a.getKey());
+            });
+    for (Map.Entry<String, Double> entry : pageRank.entrySet()) {
+      if (heap.size() < k) {
+        heap.offer(Map.entry(entry.getKey(), entry.getValue()));
+      } else if (heap.comparator().compare(entry, heap.peek()) > 0) {
+        heap.poll();
+        heap.offer(Map.entry(entry.getKey(), entry.getValue()));
+      }
+    }
+    while (!heap.isEmpty()) {
+      result.add(heap.poll());
+    }
+    Collections.reverse(result);
+    return result;
+  }
+
+  /**
+   * 按分数数组取PageRank最高的前K个单词，顺序与 topKPageRank(Map, k) 相同.
+   * 只为结果和第K名处的同分顶点取单词，其余比较都在原始类型数组上完成.
+   */
+  public static List<Map.Entry<String, Double>> topKPageRank(CompactGraph graph,
+                                                             double[] scores, int k) {
+    int[] top = topKIndices(scores, k);
+    List<Map.Entry<String, Double>> result = new ArrayList<>(top.length);
+    if (top.length == 0) {
+      return result;
+    }
+    // 高于第K名分数的顶点全部入选；与第K名同分的顶点按单词字典序补足名额
+    double boundary = scores[top[top.length - 1]];
+    List<String> tied = new ArrayList<>();
+    for (int v = 0; v < scores.length; v++) {
+      if (scores[v] == boundary) {
+        tied.add(graph.word(v));
+      }
+    }
+    Collections.sort(tied);
+    for (int v : top) {
+      if (scores[v] > boundary) {
+        result.add(Map.entry(graph.word(v), scores[v]));
+      }
+    }
+    result.sort((a, b) -> {
+      int cmp = Double.compare(b.getValue(), a.getValue());
+      return cmp != 0 ? cmp : a.getKey().compareTo(b.getKey());
+    });
+    for (int i = 0; result.size() < top.length; i++) {
+      result.add(Map.entry(tied.get(i), boundary));
+    }
+    return result;
+  }
+
+  /**
+   * 取分数数组中最高的前K个下标（见 GraphAlgorithms.topKIndices）.
+   */
+  public static int[] topKIndices(double[] scores, int k) {
+    return GraphAlgorithms.topKIndices(scores, k);
+  }
+
+  /**
+   * 查询单个单词的PageRank排名（从1开始，不存在返回-1）.
+   */
+  public static int pageRankPosition(Map<String, Double> pageRank, String word) {
+    Double score = pageRank.get(word);
+    if (score == null) {
+      return -1;
+    }
+    int rank = 1;
+    for (Map.Entry<String, Double> entry : pageRank.entrySet()) {
+      int cmp = Double.compare(entry.getValue(), score);
+      if (cmp > 0 || (cmp == 0 && entry.getKey().compareTo(word) < 0)) {
+        rank++;
+      }
+    }
+    return rank;
+  }
+
+  /**
+   * 按分数数组查询单个单词的PageRank排名（从1开始，不存在返回-1）.
+   * 只在原始类型数组上计数，同分时才比较单词.
+   */
+  public static int pageRankPosition(CompactGraph graph, double[] scores, String word) {
+    int id = graph.id(word);
+    if (id < 0) {
+      return -1;
+    }
+    double score = scores[id];
+    int rank = 1;
+    for (int v = 0; v < scores.length; v++) {
+      if (scores[v] > score || scores[v] == score && v != id
+              && graph.word(v).compareTo(word) < 0) {
+        rank++;
+      }
+    }
+    return rank;
+  }
+
+  /**
+   * 随机游走（每走一步就写入文件，不在内存中保存路径）.
    */
   public static void randomWalk(Graph<String, DefaultWeightedEdge> graph,
                                 String outputFilePath) throws IOException {
     System.out.println("/******************** 随机游走 ********************/");
-    List<String> visitedNodes = new ArrayList<>();
     // 随机选择起点
     List<String> vertices = new ArrayList<>(graph.vertexSet());
     if (vertices.isEmpty()) {
       System.out.println("图中无节点，无法进行随机游走！");
       return;
     }
+    String baseDir = System.getProperty("user.dir");
+    Path basePath = Paths.get(baseDir).toAbsolutePath().normalize();
+    Path outputPath = basePath.resolve(outputFilePath).normalize();
+    // 检查路径安全
+    if (!outputPath.startsWith(basePath)) {
+      throw new SecurityException("不允许写出基目录外的路径: " + outputPath);
+    }
     String current = vertices.get(rand.nextInt(vertices.size()));
-    visitedNodes.add(current);
     System.out.println("随机游走起点为: " + current);
     System.out.println("输入 Enter 继续，输入 q 停止游走：");
     Set<DefaultWeightedEdge> visitedEdges = new HashSet<>();
-    while (true) {
-      Set<DefaultWeightedEdge> outgoing = graph.outgoingEdgesOf(current);
-      List<DefaultWeightedEdge> candidates = new ArrayList<>();
-      for (DefaultWeightedEdge edge : outgoing) {
-        if (!visitedEdges.contains(edge)) {
-          candidates.add(edge);
+    int visited = 1;
+    try (BufferedWriter writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
+      writer.write(current);
+      Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8);
+      while (true) {
+        Set<DefaultWeightedEdge> outgoing = graph.outgoingEdgesOf(current);
+        List<DefaultWeightedEdge> candidates = new ArrayList<>();
+        for (DefaultWeightedEdge edge : outgoing) {
+          if (!visitedEdges.contains(edge)) {
+            candidates.add(edge);
+          }
         }
+        if (candidates.isEmpty()) {
+          System.out.println("节点不存在出边");
+          break;
+        }
+        // 用户可以随时终止
+        String input = scanner.nextLine();
+        if (input.equalsIgnoreCase("q")) {
+          System.out.println("用户停止随机游走");
+          break;
+        }
+        // 随机选择一条边
+        DefaultWeightedEdge edge = candidates.get(rand.nextInt(candidates.size()));
+        visitedEdges.add(edge);
+        current = graph.getEdgeTarget(edge);
+        writer.write(' ');
+        writer.write(current);
+        visited++;
+        System.out.println("-> " + current);
       }
-      if (candidates.isEmpty()) {
-        System.out.println("节点不存在出边");
-        break;
+    }
+    // 路径已写在文件中，回读输出，不在内存中保留整条路径
+    System.out.print("随机游走路径： ");
+    System.out.flush();
+    Files.copy(outputPath, System.out);
+    System.out.println();
+    System.out.println("随机游走共经过 " + visited + " 个节点");
+    System.out.println("已写入文件：" + outputFilePath);
+  }
+
+  /**
+   * 非交互地写出 walks 次随机游走（每行一次，起点随机，每次最多 maxSteps 步）.
+   * 游走过程中直接流式写入文件，返回总步数.
+   */
+  public static long randomWalksToFile(CompactGraph graph, String outputFilePath, int walks,
+                                       int maxSteps, long seed) throws IOException {
+    Metrics.Timer timer = Metrics.start("random_walk");
+    SplittableRandom random = new SplittableRandom(seed);
+    long steps;
+    try (RandomWalkWriter writer = new RandomWalkWriter(graph,
+            resolveUnderBaseDir(outputFilePath))) {
+      steps = writer.writeWalks(walks, maxSteps, random);
+    }
+    timer.stop();
+    System.out.println("已写入 " + walks + " 次随机游走（共 " + steps + " 步）：" + outputFilePath);
+    return steps;
+  }
+
+  /**
+   * 基于带重启随机游走的蒙特卡洛PageRank近似（多线程）.
+   * 每个节点作为起点游走 walksPerNode 次，walksPerNode 越大越精确.
+   */
+  public static Map<String, Double> approxPageRank(Graph<String, DefaultWeightedEdge> graph,
+                                                   double dampingFactor, int walksPerNode,
+                                                   int threads, long seed) {
+    List<String> vertices = new ArrayList<>(graph.vertexSet());
+    int n = vertices.size();
+    Map<String, Double> pageRank = new HashMap<>();
+    if (n == 0 || walksPerNode <= 0) {
+      return pageRank;
+    }
+    // 预先把出边邻居转成下标数组，游走时不再遍历边集合
+    Map<String, Integer> index = new HashMap<>();
+    for (int i = 0; i < n; i++) {
+      index.put(vertices.get(i), i);
+    }
+    int[][] successors = new int[n][];
+    for (int i = 0; i < n; i++) {
+      Set<DefaultWeightedEdge> outgoing = graph.outgoingEdgesOf(vertices.get(i));
+      successors[i] = new int[outgoing.size()];
+      int k = 0;
+      for (DefaultWeightedEdge edge : outgoing) {
+        successors[i][k++] = index.get(graph.getEdgeTarget(edge));
       }
-      Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8);
-      // 用户可以随时终止
-      String input = scanner.nextLine();
-      if (input.equalsIgnoreCase("q")) {
-        System.out.println("用户停止随机游走");
-        break;
+    }
+    int workers = Math.max(1, Math.min(threads, n));
+    ExecutorService pool = Executors.newFixedThreadPool(workers);
+    List<Future<long[]>> parts = new ArrayList<>();
+    for (int t = 0; t < workers; t++) {
+      final int worker = t;
+      parts.add(pool.submit(() -> {
+        SplittableRandom random = new SplittableRandom(seed + worker);
+        long[] visits = new long[n];
+        for (int start = worker; start < n; start += workers) {
+          for (int w = 0; w < walksPerNode; w++) {
+            int current = start;
+            visits[current]++;
+            // 以 dampingFactor 的概率继续走，遇到无出边节点则结束本次游走
+            while (successors[current].length > 0 && random.nextDouble() < dampingFactor) {
+              current = successors[current][random.nextInt(successors[current].length)];
+              visits[current]++;
+            }
+          }
+        }
+        return visits;
+      }));
+    }
+    long[] visits = new long[n];
+    try {
+      for (Future<long[]> part : parts) {
+        long[] partial = part.get();
+        for (int i = 0; i < n; i++) {
+          visits[i] += partial[i];
+        }
       }
-      // 随机选择一条边
-      DefaultWeightedEdge edge = candidates.get(rand.nextInt(candidates.size()));
-      visitedEdges.add(edge);
-      current = graph.getEdgeTarget(edge);
-      visitedNodes.add(current);
-      System.out.println("-> " + current);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("PageRank近似计算被中断", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("PageRank近似计算失败", e.getCause());
+    } finally {
+      pool.shutdownNow();
     }
-    // 输出到文件
-    StringBuilder result = new StringBuilder();
-    for (String word : visitedNodes) {
-      result.append(word).append(" ");
+    long total = 0;
+    for (long v : visits) {
+      total += v;
     }
-    System.out.println("随机游走路径： " + result.toString().trim());
-    String baseDir = System.getProperty("user.dir");
-    Path basePath = Paths.get(baseDir).toAbsolutePath().normalize();
-    Path outputPath = basePath.resolve(outputFilePath).normalize();
-    // 检查路径安全
-    if (!outputPath.startsWith(basePath)) {
-      throw new SecurityException("不允许写出基目录外的路径: " + outputPath);
+    for (int i = 0; i < n; i++) {
+      pageRank.put(vertices.get(i), (double) visits[i] / total);
     }
-    try (BufferedWriter writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
-      writer.write(result.toString().trim());
+    return pageRank;
+  }
+
+  /**
+   * 计算近似PageRank相对精确结果的误差（均归一化后比较），返回L1误差并打印报告.
+   */
+  public static double pageRankError(Map<String, Double> exact, Map<String, Double> approx) {
+    double exactSum = 0.0;
+    double approxSum = 0.0;
+    for (double v : exact.values()) {
+      exactSum += v;
+    }
+    for (double v : approx.values()) {
+      approxSum += v;
+    }
+    double l1 = 0.0;
+    double max = 0.0;
+    String worst = null;
+    for (Map.Entry<String, Double> entry : exact.entrySet()) {
+      double a = exactSum == 0.0 ? 0.0 : entry.getValue() / exactSum;
+      double b = approxSum == 0.0 ? 0.0 : approx.getOrDefault(entry.getKey(), 0.0) / approxSum;
+      double diff = Math.abs(a - b);
+      l1 += diff;
+      if (diff > max) {
+        max = diff;
+        worst = entry.getKey();
+      }
+    }
+    System.out.printf("PageRank近似误差：L1 = %.6f，最大误差 = %.6f（%s）%n", l1, max, worst);
+    return l1;
+  }
+
+  /** 命令行参数说明. */
+  private static void printUsage() {
+    System.err.println("用法: Main [文本文件|目录|通配符] [n-gram 阶数，默认 2；大于 2 时只支持单个文件]"
+            + " [代价模型 count|probability，默认 count]");
+  }
+
+  /** 解析代价模型（不区分大小写），未知时返回 null. */
+  private static EdgeCosts.Model parseCostModel(String arg) {
+    for (EdgeCosts.Model model : EdgeCosts.Model.values()) {
+      if (model.name().equalsIgnoreCase(arg.trim())) {
+        return model;
+      }
+    }
+    return null;
+  }
+
+  /** 解析 n-gram 阶数，不是整数时返回 -1. */
+  private static int parseOrder(String arg) {
+    try {
+      return Integer.parseInt(arg.trim());
+    } catch (NumberFormatException e) {
+      return -1;
     }
-    System.out.println("已写入文件：" + outputFilePath);
   }
 
   /**
    * 主函数入口.
    */
   public static void main(String[] args) throws IOException {
+    if (Metrics.isEnabled()) {
+      Metrics.startPeriodicLog(10);
+    }
     String filename;
     if (args.length > 0) {
       filename = args[0];
@@ -505,31 +1629,78 @@ public class Main {
       System.out.print("请输入文本文件路径：");
       filename = scanner.nextLine();
     }
-    String processedText = readFile(filename);
-    if (processedText == null) {
+    // 第二个参数为 n-gram 阶数，默认 2（普通二元组图）
+    int order = args.length > 1 ? parseOrder(args[1]) : 2;
+    if (order < 2) {
+      System.err.println("n-gram 阶数必须是不小于 2 的整数: " + args[1]);
+      printUsage();
+      return;
+    }
+    // 第三个参数 probability 时按 -log P 计算最短路径，默认按边权；在交互开始前检查
+    EdgeCosts.Model costModel = args.length > 2
+            ? parseCostModel(args[2]) : EdgeCosts.Model.COUNT;
+    if (costModel == null) {
+      System.err.println("未知的代价模型: " + args[2]);
+      printUsage();
+      return;
+    }
+    // 目录或通配符按多文件语料并行读取；紧凑图只构建一次，各功能共用
+    boolean corpus = indexOfWildcard(filename) >= 0
+            || Files.isDirectory(resolveUnderBaseDir(filename));
+    if (order > 2 && corpus) {
+      System.err.println("n 阶图（n > 2）只支持单个文本文件，不支持目录或通配符: " + filename);
+      printUsage();
+      return;
+    }
+    // 读取与建图的耗时由各建图函数记在 ingest 中，这里不再重复计时
+    WordGraph graph;
+    if (order > 2) {
+      graph = buildNGramWordGraphFromFile(filename, order);
+    } else if (corpus) {
+      graph = buildWordGraphFromCorpus(filename, Tokenizer.defaultTokenizer(),
+              Runtime.getRuntime().availableProcessors());
+    } else {
+      graph = buildWordGraphFromFile(filename, Tokenizer.defaultTokenizer());
+    }
+    if (graph == null) {
       return;
     }
-    Map<String, Map<String, Integer>> adjGraph = buildDirectedGraph(processedText);
-    Graph<String, DefaultWeightedEdge> jgraph = convertToJgraphT(adjGraph);
+    // 图的统计信息：需要 -Dlab1.stats=true 开启，默认不改变启动输出
+    if (Boolean.getBoolean("lab1.stats")) {
+      showGraphStatistics(graph);
+    }
+    // JGraphT 图只用于导出图像、高亮最短路径和随机游走
+    Graph<String, DefaultWeightedEdge> jgraph = convertToJgraphT(graph);
     exportGraph(jgraph, "graph.dot", "graph.png");
     // 在命令行中展示图
-    showDirectedGraph(adjGraph);
+    showDirectedGraph(graph);
     // 查询桥连接词bridge words
-    queryBridgeWords(adjGraph);
+    queryBridgeWords(graph);
+    // 下一个单词的自动补全：需要 -Dlab1.autocomplete=true 开启，默认不改变交互顺序
+    if (Boolean.getBoolean("lab1.autocomplete")) {
+      queryNextWords(graph);
+    }
     // 根据bridge word生成新文本
-    generateNewText(adjGraph);
+    generateNewText(graph);
     // 计算两个单词之间的最短路径
-    calcShortestPath(jgraph, "shortest.dot", "shortest.png");
+    calcShortestPath(jgraph, graph, "shortest.dot", "shortest.png", costModel);
     // 计算PageRank
     double dampingFactor = 0.85;  // 阻尼因子
     int maxIterations = 50;     // 最大迭代次数
-    Map<String, Double> pageRank = calPageRank(jgraph, dampingFactor, maxIterations);
-    // 输出每个节点的PageRank
-    for (Map.Entry<String, Double> entry : pageRank.entrySet()) {
+    double[] pageRank = pageRankScores(graph, dampingFactor, maxIterations);
+    // 只输出PageRank最高的前K个节点，只为这K个结果取单词
+    int topK = 100;
+    for (Map.Entry<String, Double> entry : topKPageRank(graph, pageRank, topK)) {
       System.out.printf("%s: %.2f%n", entry.getKey(), entry.getValue());
     }
     // 添加随机游走功能
 
     randomWalk(jgraph, "random_walk.txt");
+    if (Metrics.isEnabled()) {
+      Metrics.stopPeriodicLog();
+      Files.writeString(resolveUnderBaseDir("metrics.json"), Metrics.toJson(),
+              StandardCharsets.UTF_8);
+      System.out.println(Metrics.summaryLine());
+    }
   }
 }
\ No newline at end of file
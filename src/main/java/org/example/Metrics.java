@@ -0,0 +1,238 @@
+package org.example;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 各操作的计数、延迟直方图与内存分配估计.
+ * 默认关闭（-Dlab1.metrics=true 开启），关闭时 start 返回空计时器，几乎无开销.
+ */
+public final class Metrics {
+
+  /** 每个 2 的幂区间再细分的子桶数（对数线性分桶，相对误差约 6%）. */
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private static final Timer NOOP = new Timer(null, 0, 0);
+  private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+  private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+  private static volatile boolean enabled = Boolean.getBoolean("lab1.metrics");
+  private static ScheduledExecutorService reporter;
+
+  private Metrics() {
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setEnabled(boolean value) {
+    enabled = value;
+  }
+
+  /**
+   * 开始记录一次操作，结束时调用 Timer.stop().
+   */
+  public static Timer start(String operation) {
+    if (!enabled) {
+      return NOOP;
+    }
+    return new Timer(operation, System.nanoTime(), allocatedBytes());
+  }
+
+  /**
+   * 直接记录一次已知耗时的操作.
+   */
+  public static void record(String operation, long nanos, long bytes) {
+    STATS.computeIfAbsent(operation, k -> new Stats()).record(nanos, bytes);
+  }
+
+  /** 清空全部统计. */
+  public static void reset() {
+    STATS.clear();
+  }
+
+  /**
+   * 单行摘要，适合周期性打印到日志.
+   */
+  public static String summaryLine() {
+    StringBuilder sb = new StringBuilder("[metrics]");
+    for (Map.Entry<String, Stats> entry : new TreeMap<>(STATS).entrySet()) {
+      Stats s = entry.getValue();
+      sb.append(' ').append(entry.getKey())
+              .append(" n=").append(s.count.sum())
+              .append(" p50=").append(formatMicros(s.percentile(0.50)))
+              .append(" p99=").append(formatMicros(s.percentile(0.99)))
+              .append(" max=").append(formatMicros(s.max.get()));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * 以 JSON 输出全部统计（时间单位为纳秒，内存单位为字节）.
+   */
+  public static String toJson() {
+    StringBuilder sb = new StringBuilder("{");
+    boolean first = true;
+    for (Map.Entry<String, Stats> entry : new TreeMap<>(STATS).entrySet()) {
+      Stats s = entry.getValue();
+      if (!first) {
+        sb.append(',');
+      }
+      first = false;
+      sb.append('"').append(entry.getKey()).append("\":{")
+              .append("\"count\":").append(s.count.sum())
+              .append(",\"totalNanos\":").append(s.totalNanos.sum())
+              .append(",\"p50Nanos\":").append(s.percentile(0.50))
+              .append(",\"p90Nanos\":").append(s.percentile(0.90))
+              .append(",\"p99Nanos\":").append(s.percentile(0.99))
+              .append(",\"maxNanos\":").append(s.max.get())
+              .append(",\"allocatedBytes\":").append(s.allocatedBytes.sum())
+              .append('}');
+    }
+    return sb.append('}').toString();
+  }
+
+  /**
+   * 启动后台线程，每隔 periodSeconds 秒向标准错误输出一行摘要.
+   */
+  public static synchronized void startPeriodicLog(long periodSeconds) {
+    if (reporter != null) {
+      return;
+    }
+    reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "metrics-reporter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    reporter.scheduleAtFixedRate(() -> System.err.println(summaryLine()),
+            periodSeconds, periodSeconds, TimeUnit.SECONDS);
+  }
+
+  /** 停止周期性输出. */
+  public static synchronized void stopPeriodicLog() {
+    if (reporter != null) {
+      reporter.shutdownNow();
+      reporter = null;
+    }
+  }
+
+  /**
+   * 查询某个操作在给定分位数上的延迟（纳秒），没有记录时返回0.
+   */
+  public static long percentile(String operation, double quantile) {
+    Stats s = STATS.get(operation);
+    return s == null ? 0 : s.percentile(quantile);
+  }
+
+  /**
+   * 查询某个操作的记录次数.
+   */
+  public static long count(String operation) {
+    Stats s = STATS.get(operation);
+    return s == null ? 0 : s.count.sum();
+  }
+
+  private static String formatMicros(long nanos) {
+    return String.format("%.1fus", nanos / 1000.0);
+  }
+
+  private static long allocatedBytes() {
+    return THREADS == null ? 0 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private static com.sun.management.ThreadMXBean threadBean() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+      if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+        return sunBean;
+      }
+    }
+    return null;
+  }
+
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) Math.max(value, 0);
+    }
+    // 保留最高的 SUB_BUCKET_BITS+1 位：指数决定大区间，其后几位决定子桶
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    int sub = (int) (value >>> shift) - SUB_BUCKETS;
+    return (shift + 1) * SUB_BUCKETS + sub;
+  }
+
+  static long bucketUpperBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long sub = bucket % SUB_BUCKETS;
+    return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+  }
+
+  /**
+   * 一次操作的计时器.
+   */
+  public static final class Timer {
+    private final String operation;
+    private final long startNanos;
+    private final long startBytes;
+
+    private Timer(String operation, long startNanos, long startBytes) {
+      this.operation = operation;
+      this.startNanos = startNanos;
+      this.startBytes = startBytes;
+    }
+
+    /** 结束计时并记录. */
+    public void stop() {
+      if (operation != null) {
+        record(operation, System.nanoTime() - startNanos,
+                Math.max(allocatedBytes() - startBytes, 0));
+      }
+    }
+  }
+
+  private static final class Stats {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    void record(long nanos, long bytes) {
+      count.increment();
+      totalNanos.add(nanos);
+      allocatedBytes.add(bytes);
+      max.accumulate(nanos);
+      histogram.incrementAndGet(bucketOf(nanos));
+    }
+
+    long percentile(double quantile) {
+      long total = count.sum();
+      if (total == 0) {
+        return 0;
+      }
+      long rank = (long) Math.ceil(quantile * total);
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += histogram.get(i);
+        if (seen >= rank) {
+          return Math.min(bucketUpperBound(i), max.get());
+        }
+      }
+      return max.get();
+    }
+  }
+}
@@ -0,0 +1,260 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 高阶 n-gram 图：顶点是连续 n-1 个单词构成的上下文，边是上下文向后滑动一个词.
+ * 上下文以前缀树编号保存（父前缀编号 + 最后一个单词编号），相同前缀只存一份；
+ * 冻结后也不保存拼接好的标签，word(v) 与 id(label) 在前缀树上按需生成和查找.
+ */
+public class NGramGraph {
+
+  /** 上下文标签中单词之间的分隔符，如 the_scientist. */
+  public static final String SEPARATOR = "_";
+
+  private final int order;
+  private final String[] words;
+  private final Map<String, Integer> wordIds;
+  private final LongIntHashMap children;
+  private final int[] nodeParent;
+  private final int[] nodeWord;
+  private final int[] nodeVertex;
+  private final int[] vertexNode;
+  private final WordGraph graph;
+
+  private NGramGraph(Builder builder) {
+    this.order = builder.order;
+    this.words = Arrays.copyOf(builder.words, builder.wordIds.size());
+    this.wordIds = builder.wordIds;
+    this.children = builder.children;
+    this.nodeParent = Arrays.copyOf(builder.nodeParent, builder.nodeCount);
+    this.nodeWord = Arrays.copyOf(builder.nodeWord, builder.nodeCount);
+    this.nodeVertex = Arrays.copyOf(builder.nodeVertex, builder.nodeCount);
+    this.vertexNode = Arrays.copyOf(builder.vertexNode, builder.vertexCount);
+    this.graph = new ContextGraph(WordGraph.freezeEdges(builder.vertexCount, builder.edges));
+  }
+
+  /**
+   * 对已分好词的文本（以空白分隔）构建 n 阶图，n = 2 时与普通二元组图相同.
+   */
+  public static NGramGraph build(String text, int n) {
+    Builder builder = new Builder(n);
+    for (String word : text.trim().split("\\s+")) {
+      if (!word.isEmpty()) {
+        builder.addWord(word);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * 流式分词并构建 n 阶图.
+   */
+  public static NGramGraph build(Reader reader, Tokenizer tokenizer, int n) throws IOException {
+    Builder builder = new Builder(n);
+    tokenizer.tokenize(reader, builder::addWord);
+    return builder.build();
+  }
+
+  /** 阶数 n. */
+  public int order() {
+    return order;
+  }
+
+  /**
+   * 以上下文标签为顶点的紧凑图，可继续转换成邻接表或 JGraphT 图.
+   */
+  public WordGraph graph() {
+    return graph;
+  }
+
+  /**
+   * 顶点对应的 n-1 个单词.
+   */
+  public String[] contextWords(int vertex) {
+    String[] context = new String[order - 1];
+    int node = vertexNode[vertex];
+    for (int i = context.length - 1; i >= 0; i--) {
+      context[i] = words[nodeWord[node]];
+      node = nodeParent[node];
+    }
+    return context;
+  }
+
+  /** 上下文标签，如 the_scientist. */
+  String label(int vertex) {
+    StringBuilder sb = new StringBuilder();
+    for (String word : contextWords(vertex)) {
+      if (sb.length() > 0) {
+        sb.append(SEPARATOR);
+      }
+      sb.append(word);
+    }
+    return sb.toString();
+  }
+
+  /** 沿前缀树查找标签对应的顶点，不存在时返回 -1. */
+  int vertexOf(String label) {
+    String[] parts = label.split(SEPARATOR, -1);
+    if (parts.length != order - 1) {
+      return -1;
+    }
+    int node = -1;
+    for (String part : parts) {
+      Integer word = wordIds.get(part);
+      if (word == null) {
+        return -1;
+      }
+      node = children.get(LongIntHashMap.pack(node + 1, word), -1);
+      if (node < 0) {
+        return -1;
+      }
+    }
+    return nodeVertex[node];
+  }
+
+  /** 前缀树节点数（包括所有长度不足 n-1 的共享前缀）. */
+  public int prefixNodeCount() {
+    return nodeParent.length;
+  }
+
+  /**
+   * 以上下文为顶点的紧凑图：只保存 CSR，顶点标签由前缀树按需生成.
+   */
+  private final class ContextGraph extends WordGraph {
+
+    ContextGraph(int[][] csr) {
+      super(null, null, csr[0], csr[1], csr[2]);
+    }
+
+    @Override
+    public int id(String word) {
+      return vertexOf(word);
+    }
+
+    @Override
+    public String word(int id) {
+      return label(id);
+    }
+  }
+
+  /**
+   * n-gram 图的构建器.
+   */
+  public static class Builder {
+    private final int order;
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private String[] words = new String[16];
+    private final LongIntHashMap children = new LongIntHashMap(1024);
+    private int[] nodeParent = new int[16];
+    private int[] nodeWord = new int[16];
+    private int[] nodeVertex = new int[16];
+    private int nodeCount;
+    private int[] vertexNode = new int[16];
+    private int vertexCount;
+    private final LongIntHashMap edges = new LongIntHashMap(1024);
+    private final int[] window;
+    private int filled;
+    private int previousVertex = -1;
+
+    /**
+     * 创建 n 阶构建器，n 至少为 2.
+     */
+    public Builder(int n) {
+      if (n < 2) {
+        throw new IllegalArgumentException("n-gram 的阶数至少为 2: " + n);
+      }
+      this.order = n;
+      this.window = new int[n - 1];
+    }
+
+    /**
+     * 追加一个单词；窗口填满 n-1 个词后，每个新词产生一条上下文之间的边.
+     */
+    public Builder addWord(String word) {
+      int wordId = internWord(word);
+      if (filled < window.length) {
+        window[filled++] = wordId;
+      } else {
+        System.arraycopy(window, 1, window, 0, window.length - 1);
+        window[window.length - 1] = wordId;
+      }
+      if (filled < window.length) {
+        return this;
+      }
+      int node = -1;
+      for (int w : window) {
+        node = child(node, w);
+      }
+      int vertex = vertexOf(node);
+      if (previousVertex >= 0) {
+        edges.addTo(LongIntHashMap.pack(previousVertex, vertex), 1);
+      }
+      previousVertex = vertex;
+      return this;
+    }
+
+    /**
+     * 结束当前段落，窗口清空.
+     */
+    public Builder endSegment() {
+      filled = 0;
+      previousVertex = -1;
+      return this;
+    }
+
+    private int internWord(String word) {
+      Integer id = wordIds.get(word);
+      if (id == null) {
+        id = wordIds.size();
+        wordIds.put(word, id);
+        if (id == words.length) {
+          words = Arrays.copyOf(words, id * 2);
+        }
+        words[id] = word;
+      }
+      return id;
+    }
+
+    private int child(int parent, int word) {
+      long key = LongIntHashMap.pack(parent + 1, word);
+      int node = children.get(key, -1);
+      if (node >= 0) {
+        return node;
+      }
+      node = nodeCount++;
+      if (node == nodeParent.length) {
+        nodeParent = Arrays.copyOf(nodeParent, node * 2);
+        nodeWord = Arrays.copyOf(nodeWord, node * 2);
+        nodeVertex = Arrays.copyOf(nodeVertex, node * 2);
+      }
+      nodeParent[node] = parent;
+      nodeWord[node] = word;
+      nodeVertex[node] = -1;
+      children.put(key, node);
+      return node;
+    }
+
+    private int vertexOf(int node) {
+      if (nodeVertex[node] < 0) {
+        if (vertexCount == vertexNode.length) {
+          vertexNode = Arrays.copyOf(vertexNode, vertexCount * 2);
+        }
+        vertexNode[vertexCount] = node;
+        nodeVertex[node] = vertexCount++;
+      }
+      return nodeVertex[node];
+    }
+
+    /**
+     * 冻结：边计数转成 CSR，上下文仍以前缀树编号保存，不生成标签；冻结后不再使用本构建器.
+     */
+    public NGramGraph build() {
+      return new NGramGraph(this);
+    }
+  }
+}
@@ -0,0 +1,654 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 堆外的紧凑有向词图：词典和 CSR 数组都保存在内存映射文件中，
+ * 堆上只有少量对象，图的大小可以超过物理内存，由操作系统页缓存按需换入.
+ *
+ * <p>文件布局（小端，各段按 8 字节对齐）：
+ * 头部 [magic, version, n, 保留, m(long)]，
+ * 出边偏移 long[n+1]，目标 int[m]，权重 int[m]，
+ * 入边偏移 long[n+1]，源 int[m]，入边权重 int[m]，
+ * 单词偏移 long[n+1]，单词 UTF-8 字节，按单词排序的编号 int[n].
+ */
+public class OffHeapWordGraph implements CompactGraph, Closeable {
+
+  private static final int MAGIC = 0x57475246;
+  private static final int VERSION = 2;
+  private static final int HEADER_BYTES = 24;
+  /** 每段映射 1GB；各数组段 8 字节对齐，int/long 不会跨段. */
+  private static final int SEGMENT_SHIFT = 30;
+  private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer[] segments;
+  private final int vertexCount;
+  private final long edgeCount;
+  private final long offsetsPos;
+  private final long targetsPos;
+  private final long weightsPos;
+  private final long inOffsetsPos;
+  private final long sourcesPos;
+  private final long inWeightsPos;
+  private final long wordOffsetsPos;
+  private final long wordBytesPos;
+  private final long sortedIdsPos;
+
+  private OffHeapWordGraph(FileChannel channel) throws IOException {
+    this.channel = channel;
+    long size = channel.size();
+    int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    segments = new MappedByteBuffer[count];
+    for (int i = 0; i < count; i++) {
+      long start = (long) i << SEGMENT_SHIFT;
+      segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+              Math.min(1L << SEGMENT_SHIFT, size - start));
+      segments[i].order(ByteOrder.LITTLE_ENDIAN);
+    }
+    if (size < HEADER_BYTES || getInt(0) != MAGIC || getInt(4) != VERSION) {
+      throw new IOException("不是有效的图文件");
+    }
+    vertexCount = getInt(8);
+    edgeCount = getLong(16);
+    offsetsPos = HEADER_BYTES;
+    targetsPos = offsetsPos + 8L * (vertexCount + 1);
+    weightsPos = align(targetsPos + 4L * edgeCount);
+    inOffsetsPos = align(weightsPos + 4L * edgeCount);
+    sourcesPos = inOffsetsPos + 8L * (vertexCount + 1);
+    inWeightsPos = align(sourcesPos + 4L * edgeCount);
+    wordOffsetsPos = align(inWeightsPos + 4L * edgeCount);
+    wordBytesPos = wordOffsetsPos + 8L * (vertexCount + 1);
+    sortedIdsPos = align(wordBytesPos + getLong(wordOffsetsPos + 8L * vertexCount));
+  }
+
+  /**
+   * 以只读内存映射方式打开图文件.
+   */
+  public static OffHeapWordGraph open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      return new OffHeapWordGraph(channel);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * 把任意紧凑图写入文件：逐条交给外排序建图器，堆上的内存与边数无关.
+   */
+  public static void write(CompactGraph graph, Path file) throws IOException {
+    Builder builder = new Builder(file);
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      builder.addVertex(graph.word(v));
+    }
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      for (long e = graph.firstEdge(v); e < graph.firstEdge(v + 1); e++) {
+        builder.addEdge(v, graph.target(e), graph.weight(e));
+      }
+    }
+    builder.build().close();
+  }
+
+  /**
+   * 外排序建图：单词字典留在堆上（连续的 byte[]），二元组在有界的 long 键哈希表中计数，
+   * 表满时按键排序后溢写成临时有序段. build 时多路归并各段得到按 (源, 目标) 排序的边，
+   * 再按 (目标, 源) 重新分段归并得到反向 CSR，顺序写出文件. 堆上只保留 O(顶点数) 的数组.
+   * 溢写失败时 addWord / addEdge 抛出 UncheckedIOException.
+   */
+  public static class Builder {
+    /** 默认每个有序段最多的边数. */
+    public static final int DEFAULT_RUN_EDGES = 1 << 22;
+    /** 每条记录为 long 键 + int 权重. */
+    private static final int RECORD_BYTES = 12;
+
+    private final Path file;
+    private final Path tempDir;
+    private final int runEdges;
+    /** 第 id 个单词的 UTF-8 字节为 bytes[starts[id], starts[id + 1]). */
+    private byte[] bytes = new byte[1 << 12];
+    private int[] starts = new int[17];
+    private int[] hashes = new int[16];
+    /** 单词字典：开放寻址表，槽位存单词编号+1（0 表示空）. */
+    private int[] table = new int[64];
+    private int wordCount;
+    private LongIntHashMap counts = new LongIntHashMap(1024);
+    private final List<Path> runs = new ArrayList<>();
+    private int previous = -1;
+
+    public Builder(Path file) {
+      this(file, DEFAULT_RUN_EDGES);
+    }
+
+    /**
+     * runEdges 为溢写前计数表中最多的边数，决定堆上计数表的大小.
+     */
+    public Builder(Path file, int runEdges) {
+      if (runEdges <= 0) {
+        throw new IllegalArgumentException("有序段的边数必须为正: " + runEdges);
+      }
+      this.file = file.toAbsolutePath();
+      this.tempDir = this.file.getParent();
+      this.runEdges = runEdges;
+    }
+
+    /**
+     * 追加一个单词，与上一个单词构成一条边.
+     */
+    public Builder addWord(String word) {
+      int id = intern(word);
+      if (previous >= 0) {
+        addEdge(previous, id, 1);
+      }
+      previous = id;
+      return this;
+    }
+
+    /**
+     * 结束当前段落（如文件边界），下一个单词不与之前的单词相连.
+     */
+    public Builder endSegment() {
+      previous = -1;
+      return this;
+    }
+
+    /**
+     * 加入一个顶点（可以没有边）.
+     */
+    public Builder addVertex(String word) {
+      intern(word);
+      return this;
+    }
+
+    /**
+     * 直接累加一条边的权重.
+     */
+    public Builder addEdge(String from, String to, int weight) {
+      return addEdge(intern(from), intern(to), weight);
+    }
+
+    /** 按编号累加一条边的权重，编号须已由 addVertex / addWord 分配. */
+    Builder addEdge(int from, int to, int weight) {
+      counts.addTo(LongIntHashMap.pack(from, to), weight);
+      if (counts.size() >= runEdges) {
+        try {
+          runs.add(spill(counts));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        counts = new LongIntHashMap(1024);
+      }
+      return this;
+    }
+
+    /**
+     * 归并全部有序段并写出文件，返回以内存映射方式打开的图；临时文件随后删除.
+     */
+    public OffHeapWordGraph build() throws IOException {
+      int n = wordCount;
+      List<Path> temps = new ArrayList<>();
+      try {
+        runs.add(spill(counts));
+        counts = new LongIntHashMap(1024);
+        // 正向：归并后相同的 (源, 目标) 已相邻，权重相加；同时统计出度和入度
+        int[] outDegree = new int[n];
+        int[] inDegree = new int[n];
+        long[] edgeCount = new long[1];
+        Path forward = tempFile(temps);
+        try (DataOutputStream out = output(forward)) {
+          merge(runs, (key, weight) -> {
+            out.writeLong(key);
+            out.writeInt(weight);
+            outDegree[LongIntHashMap.high(key)]++;
+            inDegree[LongIntHashMap.low(key)]++;
+            edgeCount[0]++;
+          });
+        }
+        deleteRuns();
+        // 反向：键换成 (目标, 源) 重新分段排序，归并后每个目标的入边按源编号升序
+        long m = edgeCount[0];
+        LongIntHashMap chunk = new LongIntHashMap(1024);
+        try (DataInputStream in = input(forward)) {
+          for (long e = 0; e < m; e++) {
+            long key = in.readLong();
+            chunk.put(LongIntHashMap.pack(LongIntHashMap.low(key), LongIntHashMap.high(key)),
+                    in.readInt());
+            if (chunk.size() >= runEdges) {
+              runs.add(spill(chunk));
+              chunk = new LongIntHashMap(1024);
+            }
+          }
+        }
+        runs.add(spill(chunk));
+        Path reverse = tempFile(temps);
+        try (DataOutputStream out = output(reverse)) {
+          merge(runs, (key, weight) -> {
+            out.writeLong(key);
+            out.writeInt(weight);
+          });
+        }
+        deleteRuns();
+        writeFile(n, m, outDegree, inDegree, forward, reverse);
+      } finally {
+        deleteRuns();
+        for (Path temp : temps) {
+          Files.deleteIfExists(temp);
+        }
+      }
+      return open(file);
+    }
+
+    private void writeFile(int n, long m, int[] outDegree, int[] inDegree, Path forward,
+                           Path reverse) throws IOException {
+      try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(0).putLong(m);
+        writeOffsets(out, buffer, outDegree);
+        copyColumn(out, buffer, forward, m, false);
+        copyColumn(out, buffer, forward, m, true);
+        writeOffsets(out, buffer, inDegree);
+        copyColumn(out, buffer, reverse, m, false);
+        copyColumn(out, buffer, reverse, m, true);
+        for (int v = 0; v <= n; v++) {
+          ensure(out, buffer, 8).putLong(starts[v]);
+        }
+        for (int i = 0; i < starts[n]; ) {
+          int length = Math.min(starts[n] - i, buffer.capacity());
+          ensure(out, buffer, length).put(bytes, i, length);
+          i += length;
+        }
+        pad(out, buffer);
+        // 按单词字节序排序的编号，用于 id(word) 的二分查找
+        for (int v : sortedIds()) {
+          ensure(out, buffer, 4).putInt(v);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          out.write(buffer);
+        }
+      }
+    }
+
+    /** 由度数的前缀和写出 long 偏移. */
+    private static void writeOffsets(FileChannel out, ByteBuffer buffer, int[] degree)
+            throws IOException {
+      long offset = 0;
+      for (int d : degree) {
+        ensure(out, buffer, 8).putLong(offset);
+        offset += d;
+      }
+      ensure(out, buffer, 8).putLong(offset);
+    }
+
+    /** 顺序读取记录文件，写出每条边的另一端（键的低 32 位）或权重，末尾补齐对齐. */
+    private static void copyColumn(FileChannel out, ByteBuffer buffer, Path records, long m,
+                                   boolean weights) throws IOException {
+      try (DataInputStream in = input(records)) {
+        for (long e = 0; e < m; e++) {
+          int end = LongIntHashMap.low(in.readLong());
+          int weight = in.readInt();
+          ensure(out, buffer, 4).putInt(weights ? weight : end);
+        }
+      }
+      pad(out, buffer);
+    }
+
+    /** 单词编号按 UTF-8 字节序排序（自底向上归并排序，只用 int 数组）. */
+    private int[] sortedIds() {
+      int n = wordCount;
+      int[] order = new int[n];
+      for (int v = 0; v < n; v++) {
+        order[v] = v;
+      }
+      int[] merged = new int[n];
+      for (int width = 1; width < n; width <<= 1) {
+        for (int low = 0; low < n; low += 2 * width) {
+          int mid = Math.min(low + width, n);
+          int high = Math.min(low + 2 * width, n);
+          int i = low;
+          int j = mid;
+          int k = low;
+          while (i < mid && j < high) {
+            merged[k++] = compareWords(order[j], order[i]) < 0 ? order[j++] : order[i++];
+          }
+          while (i < mid) {
+            merged[k++] = order[i++];
+          }
+          while (j < high) {
+            merged[k++] = order[j++];
+          }
+        }
+        int[] swap = order;
+        order = merged;
+        merged = swap;
+      }
+      return order;
+    }
+
+    private int compareWords(int a, int b) {
+      return Arrays.compareUnsigned(bytes, starts[a], starts[a + 1], bytes, starts[b],
+              starts[b + 1]);
+    }
+
+    /** 计数表按键排序后写成一个临时有序段. */
+    private Path spill(LongIntHashMap table) throws IOException {
+      long[] keys = new long[table.size()];
+      int count = 0;
+      for (int slot = 0; slot < table.capacity(); slot++) {
+        if (table.isOccupied(slot)) {
+          keys[count++] = table.keyAt(slot);
+        }
+      }
+      Arrays.sort(keys);
+      Path run = Files.createTempFile(tempDir, file.getFileName() + ".", ".run");
+      try (DataOutputStream out = output(run)) {
+        for (long key : keys) {
+          out.writeLong(key);
+          out.writeInt(table.get(key, 0));
+        }
+      }
+      return run;
+    }
+
+    /** 多路归并各有序段（小顶堆存段号），相同的键权重相加后交给 sink. */
+    private static void merge(List<Path> runs, EdgeSink sink) throws IOException {
+      int k = runs.size();
+      DataInputStream[] in = new DataInputStream[k];
+      long[] remaining = new long[k];
+      long[] head = new long[k];
+      int[] headWeight = new int[k];
+      int[] heap = new int[k];
+      int size = 0;
+      try {
+        for (int r = 0; r < k; r++) {
+          in[r] = input(runs.get(r));
+          remaining[r] = Files.size(runs.get(r)) / RECORD_BYTES;
+          if (remaining[r]-- > 0) {
+            head[r] = in[r].readLong();
+            headWeight[r] = in[r].readInt();
+            heap[size++] = r;
+            siftUp(heap, size - 1, head);
+          }
+        }
+        boolean pending = false;
+        long pendingKey = 0;
+        int pendingWeight = 0;
+        while (size > 0) {
+          int r = heap[0];
+          if (pending && head[r] == pendingKey) {
+            pendingWeight += headWeight[r];
+          } else {
+            if (pending) {
+              sink.accept(pendingKey, pendingWeight);
+            }
+            pending = true;
+            pendingKey = head[r];
+            pendingWeight = headWeight[r];
+          }
+          if (remaining[r]-- > 0) {
+            head[r] = in[r].readLong();
+            headWeight[r] = in[r].readInt();
+          } else {
+            heap[0] = heap[--size];
+          }
+          siftDown(heap, size, head);
+        }
+        if (pending) {
+          sink.accept(pendingKey, pendingWeight);
+        }
+      } finally {
+        for (DataInputStream stream : in) {
+          if (stream != null) {
+            stream.close();
+          }
+        }
+      }
+    }
+
+    private static void siftUp(int[] heap, int pos, long[] head) {
+      while (pos > 0) {
+        int parent = (pos - 1) >>> 1;
+        if (head[heap[parent]] <= head[heap[pos]]) {
+          break;
+        }
+        int swap = heap[parent];
+        heap[parent] = heap[pos];
+        heap[pos] = swap;
+        pos = parent;
+      }
+    }
+
+    private static void siftDown(int[] heap, int size, long[] head) {
+      int pos = 0;
+      while (true) {
+        int child = 2 * pos + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && head[heap[child + 1]] < head[heap[child]]) {
+          child++;
+        }
+        if (head[heap[pos]] <= head[heap[child]]) {
+          break;
+        }
+        int swap = heap[child];
+        heap[child] = heap[pos];
+        heap[pos] = swap;
+        pos = child;
+      }
+    }
+
+    private void deleteRuns() throws IOException {
+      for (Path run : runs) {
+        Files.deleteIfExists(run);
+      }
+      runs.clear();
+    }
+
+    private Path tempFile(List<Path> temps) throws IOException {
+      Path temp = Files.createTempFile(tempDir, file.getFileName() + ".", ".edges");
+      temps.add(temp);
+      return temp;
+    }
+
+    private static DataOutputStream output(Path path) throws IOException {
+      return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+    }
+
+    private static DataInputStream input(Path path) throws IOException {
+      return new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+    }
+
+    private int intern(String word) {
+      byte[] key = word.getBytes(StandardCharsets.UTF_8);
+      int hash = Arrays.hashCode(key);
+      int mask = table.length - 1;
+      int slot = LongIntHashMap.mix(hash) & mask;
+      while (table[slot] != 0) {
+        int id = table[slot] - 1;
+        if (hashes[id] == hash && Arrays.equals(bytes, starts[id], starts[id + 1], key, 0,
+                key.length)) {
+          return id;
+        }
+        slot = (slot + 1) & mask;
+      }
+      int id = wordCount++;
+      if (id == hashes.length) {
+        hashes = Arrays.copyOf(hashes, id * 2);
+        starts = Arrays.copyOf(starts, id * 2 + 1);
+      }
+      int end = starts[id] + key.length;
+      if (end > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(end, bytes.length * 2));
+      }
+      System.arraycopy(key, 0, bytes, starts[id], key.length);
+      starts[id + 1] = end;
+      hashes[id] = hash;
+      table[slot] = id + 1;
+      if (wordCount * 2 > table.length) {
+        rehash();
+      }
+      return id;
+    }
+
+    private void rehash() {
+      table = new int[table.length * 2];
+      int mask = table.length - 1;
+      for (int id = 0; id < wordCount; id++) {
+        int hash = hashes[id];
+        int slot = LongIntHashMap.mix(hash) & mask;
+        while (table[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        table[slot] = id + 1;
+      }
+    }
+
+    private interface EdgeSink {
+      void accept(long key, int weight) throws IOException;
+    }
+  }
+
+  private static ByteBuffer ensure(FileChannel out, ByteBuffer buffer, int bytes)
+          throws IOException {
+    if (buffer.remaining() < bytes) {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        out.write(buffer);
+      }
+      buffer.clear();
+    }
+    return buffer;
+  }
+
+  private static void pad(FileChannel out, ByteBuffer buffer) throws IOException {
+    long position = out.position() + buffer.position();
+    for (long i = position; i < align(position); i++) {
+      ensure(out, buffer, 1).put((byte) 0);
+    }
+  }
+
+  private static long align(long position) {
+    return (position + 7) & ~7L;
+  }
+
+  @Override
+  public int vertexCount() {
+    return vertexCount;
+  }
+
+  @Override
+  public long edgeCount() {
+    return edgeCount;
+  }
+
+  @Override
+  public int id(String word) {
+    byte[] key = word.getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = vertexCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int id = getInt(sortedIdsPos + 4L * mid);
+      int cmp = compareWord(id, key);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return id;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public String word(int id) {
+    long start = getLong(wordOffsetsPos + 8L * id);
+    long end = getLong(wordOffsetsPos + 8L * (id + 1));
+    byte[] bytes = new byte[(int) (end - start)];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = getByte(wordBytesPos + start + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public long firstEdge(int v) {
+    return getLong(offsetsPos + 8L * v);
+  }
+
+  @Override
+  public int target(long edge) {
+    return getInt(targetsPos + 4L * edge);
+  }
+
+  @Override
+  public int weight(long edge) {
+    return getInt(weightsPos + 4L * edge);
+  }
+
+  @Override
+  public long firstInEdge(int v) {
+    return getLong(inOffsetsPos + 8L * v);
+  }
+
+  @Override
+  public int source(long inEdge) {
+    return getInt(sourcesPos + 4L * inEdge);
+  }
+
+  @Override
+  public int inWeight(long inEdge) {
+    return getInt(inWeightsPos + 4L * inEdge);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private int compareWord(int id, byte[] key) {
+    long start = getLong(wordOffsetsPos + 8L * id);
+    long length = getLong(wordOffsetsPos + 8L * (id + 1)) - start;
+    for (int i = 0; i < length && i < key.length; i++) {
+      int cmp = Byte.toUnsignedInt(getByte(wordBytesPos + start + i))
+              - Byte.toUnsignedInt(key[i]);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return Long.compare(length, key.length);
+  }
+
+  private byte getByte(long position) {
+    return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+  }
+
+  private int getInt(long position) {
+    return segments[(int) (position >>> SEGMENT_SHIFT)].getInt((int) (position & SEGMENT_MASK));
+  }
+
+  private long getLong(long position) {
+    return segments[(int) (position >>> SEGMENT_SHIFT)].getLong((int) (position & SEGMENT_MASK));
+  }
+}
@@ -0,0 +1,337 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * 在内存预算内建图：第一遍用 count-min sketch 估计词频和二元组频次，
+ * 第二遍只为可能达到阈值的词和边做精确计数，最后按预算裁掉低权重边.
+ * sketch 只会高估，因此不会误删真正达到阈值的边. 第二遍中计数表超过预算时，
+ * 按 sketch 估计只留下估计值最高的边并提高准入阈值，峰值内存不超过预算的常数倍.
+ */
+public final class PrunedGraphBuilder {
+
+  /** 精确计数阶段每条边的大致内存（计数表槽位 + CSR 数组）. */
+  static final int BYTES_PER_EDGE = 40;
+  private static final int SKETCH_DEPTH = 4;
+
+  private PrunedGraphBuilder() {
+  }
+
+  /**
+   * 可重复打开的语料来源（需要读两遍）.
+   */
+  public interface Source {
+    Reader open() throws IOException;
+  }
+
+  /**
+   * 裁剪统计.
+   */
+  public static final class Report {
+    long tokens;
+    long rareWordTokens;
+    long droppedBigramTokens;
+    int candidateEdges;
+    int droppedBelowWeight;
+    int droppedByBudget;
+    int keptEdges;
+    int keptWords;
+    int peakCountedEdges;
+
+    public long tokens() {
+      return tokens;
+    }
+
+    /** 被丢弃的边（精确计数后低于阈值或超出预算）. */
+    public int droppedEdges() {
+      return droppedBelowWeight + droppedByBudget;
+    }
+
+    /** 第二遍中被 sketch 直接过滤掉的二元组出现次数. */
+    public long droppedBigramTokens() {
+      return droppedBigramTokens;
+    }
+
+    public int keptEdges() {
+      return keptEdges;
+    }
+
+    public int keptWords() {
+      return keptWords;
+    }
+
+    /** 第二遍中精确计数表同时容纳的最多边数. */
+    public int peakCountedEdges() {
+      return peakCountedEdges;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("共 %d 个词，保留 %d 个词、%d 条边；低频词出现 %d 次，"
+                      + "sketch 过滤二元组 %d 次，精确计数后丢弃 %d 条边（低于阈值 %d，超出预算 %d）",
+              tokens, keptWords, keptEdges, rareWordTokens, droppedBigramTokens,
+              droppedEdges(), droppedBelowWeight, droppedByBudget);
+    }
+  }
+
+  /**
+   * 对一段已分词文本按内存预算建图.
+   */
+  public static WordGraph build(String text, long memoryBudgetBytes, int minWordCount,
+                                int minEdgeWeight, Report report) {
+    try {
+      return build(() -> new StringReader(text), Tokenizer.defaultTokenizer(),
+              memoryBudgetBytes, minWordCount, minEdgeWeight, report);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * 按内存预算建图.
+   * 预算的四分之一给两个 sketch，其余用于精确计数，决定最多保留多少条边.
+   * minWordCount 与 minEdgeWeight 至少为 1.
+   */
+  public static WordGraph build(Source source, Tokenizer tokenizer, long memoryBudgetBytes,
+                                int minWordCount, int minEdgeWeight, Report report)
+          throws IOException {
+    if (minWordCount < 1) {
+      throw new IllegalArgumentException("最小词频至少为 1: " + minWordCount);
+    }
+    if (minEdgeWeight < 1) {
+      throw new IllegalArgumentException("最小边权至少为 1: " + minEdgeWeight);
+    }
+    long sketchBytes = memoryBudgetBytes / 4;
+    int width = (int) Math.max(1024, Math.min(1 << 26,
+            Long.highestOneBit(sketchBytes / (2L * SKETCH_DEPTH * Integer.BYTES))));
+    CountMinSketch wordSketch = new CountMinSketch(width);
+    CountMinSketch bigramSketch = new CountMinSketch(width);
+    int maxEdges = (int) Math.min(Integer.MAX_VALUE - 8,
+            Math.max(1, (memoryBudgetBytes - sketchBytes) / BYTES_PER_EDGE));
+
+    // 第一遍：只更新 sketch，内存固定
+    long[] previous = {0, 0};
+    try (Reader reader = source.open()) {
+      tokenizer.tokenize(reader, word -> {
+        long hash = hash64(word);
+        wordSketch.add(hash);
+        if (previous[1] != 0) {
+          bigramSketch.add(pairHash(previous[0], hash));
+        }
+        previous[0] = hash;
+        previous[1] = 1;
+        report.tokens++;
+      });
+    }
+
+    // 第二遍：两端都是常见词且 sketch 估计达到阈值的二元组才精确计数
+    WordGraph.Builder[] builder = {new WordGraph.Builder()};
+    // 准入阈值只升不降；已在表中的边始终计数，被淘汰的边估计值低于阈值，不会再进入
+    int[] admit = {minEdgeWeight};
+    // last[0] 为上一个常见词（上一个词是低频词时为 null），first[0] 标记是否是第一个词
+    String[] last = new String[1];
+    long[] lastHash = new long[1];
+    boolean[] first = {true};
+    try (Reader reader = source.open()) {
+      tokenizer.tokenize(reader, word -> {
+        long hash = hash64(word);
+        boolean common = wordSketch.estimate(hash) >= minWordCount;
+        if (!common) {
+          report.rareWordTokens++;
+        }
+        if (!first[0]) {
+          int estimate = common && last[0] != null
+                  ? bigramSketch.estimate(pairHash(lastHash[0], hash)) : -1;
+          if (estimate >= admit[0]
+                  || estimate >= minEdgeWeight && builder[0].containsEdge(last[0], word)) {
+            builder[0].addEdge(last[0], word, 1);
+            report.peakCountedEdges = Math.max(report.peakCountedEdges, builder[0].edgeCount());
+            if (builder[0].edgeCount() > maxEdges) {
+              builder[0] = evict(builder[0], bigramSketch, maxEdges - maxEdges / 4, admit,
+                      report);
+            }
+          } else {
+            report.droppedBigramTokens++;
+          }
+        }
+        first[0] = false;
+        last[0] = common ? word : null;
+        lastHash[0] = hash;
+      });
+    }
+    WordGraph candidates = builder[0].build();
+    report.candidateEdges = (int) candidates.edgeCount();
+    return prune(candidates, minEdgeWeight, maxEdges, report);
+  }
+
+  /**
+   * 计数表超出预算时只保留 sketch 估计最高的 keep 条边（相同时按槽位），
+   * 准入阈值提高到被淘汰的最高估计值之上.
+   * 直接遍历构建器的计数表，不冻结成 CSR，额外内存只有每条边一个 long 的排序数组.
+   */
+  private static WordGraph.Builder evict(WordGraph.Builder builder, CountMinSketch bigramSketch,
+                                         int keep, int[] admit, Report report) {
+    LongIntHashMap counts = builder.counts();
+    int edges = counts.size();
+    // (估计值降序, 槽位升序) 打包排序
+    long[] order = new long[edges];
+    int next = 0;
+    for (int slot = 0; slot < counts.capacity(); slot++) {
+      if (counts.isOccupied(slot)) {
+        long key = counts.keyAt(slot);
+        int estimate = bigramSketch.estimate(pairHash(
+                hash64(builder.word(LongIntHashMap.high(key))),
+                hash64(builder.word(LongIntHashMap.low(key)))));
+        order[next++] = ((long) (Integer.MAX_VALUE - estimate) << 32) | slot;
+      }
+    }
+    Arrays.sort(order);
+    int boundary = Integer.MAX_VALUE - (int) (order[keep - 1] >>> 32);
+    admit[0] = Math.max(admit[0], boundary + 1);
+    WordGraph.Builder kept = new WordGraph.Builder();
+    for (int i = 0; i < keep; i++) {
+      int slot = (int) order[i];
+      long key = counts.keyAt(slot);
+      kept.addEdge(builder.word(LongIntHashMap.high(key)), builder.word(LongIntHashMap.low(key)),
+              counts.valueAt(slot));
+    }
+    report.droppedByBudget += edges - keep;
+    return kept;
+  }
+
+  /**
+   * 去掉精确权重低于阈值的边；仍超出 maxEdges 时只保留权重最高的边.
+   */
+  static WordGraph prune(WordGraph graph, int minEdgeWeight, int maxEdges, Report report) {
+    int[] kept = new int[(int) graph.edgeCount()];
+    int count = 0;
+    for (int e = 0; e < kept.length; e++) {
+      if (graph.weight(e) >= minEdgeWeight) {
+        kept[count++] = graph.weight(e);
+      } else {
+        report.droppedBelowWeight++;
+      }
+    }
+    // 超出预算时找到第 maxEdges 大的权重作为新阈值，同权重的边按出现顺序保留到名额用完
+    int threshold = minEdgeWeight;
+    int quotaAtThreshold = Integer.MAX_VALUE;
+    if (count > maxEdges) {
+      int[] sorted = Arrays.copyOf(kept, count);
+      Arrays.sort(sorted);
+      threshold = sorted[count - maxEdges];
+      int above = 0;
+      for (int i = 0; i < count; i++) {
+        if (sorted[i] > threshold) {
+          above++;
+        }
+      }
+      quotaAtThreshold = maxEdges - above;
+    }
+    LongIntHashMap edges = new LongIntHashMap(Math.min(count, maxEdges));
+    boolean[] used = new boolean[graph.vertexCount()];
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      for (long e = graph.firstEdge(v); e < graph.firstEdge(v + 1); e++) {
+        int weight = graph.weight(e);
+        if (weight < threshold) {
+          continue;
+        }
+        if (weight == threshold && quotaAtThreshold-- <= 0) {
+          continue;
+        }
+        edges.put(LongIntHashMap.pack(v, graph.target(e)), weight);
+        used[v] = true;
+        used[graph.target(e)] = true;
+      }
+    }
+    report.droppedByBudget += count - edges.size();
+    // 重新编号，只保留仍有边相连的词
+    int[] remap = new int[graph.vertexCount()];
+    int words = 0;
+    for (int v = 0; v < remap.length; v++) {
+      remap[v] = used[v] ? words++ : -1;
+    }
+    String[] labels = new String[words];
+    for (int v = 0; v < remap.length; v++) {
+      if (remap[v] >= 0) {
+        labels[remap[v]] = graph.word(v);
+      }
+    }
+    LongIntHashMap renumbered = new LongIntHashMap(edges.size());
+    for (int slot = 0; slot < edges.capacity(); slot++) {
+      if (edges.isOccupied(slot)) {
+        long key = edges.keyAt(slot);
+        renumbered.put(LongIntHashMap.pack(remap[LongIntHashMap.high(key)],
+                remap[LongIntHashMap.low(key)]), edges.valueAt(slot));
+      }
+    }
+    report.keptEdges = renumbered.size();
+    report.keptWords = words;
+    return WordGraph.freeze(labels, renumbered);
+  }
+
+  private static long hash64(String word) {
+    long hash = 1125899906842597L;
+    for (int i = 0; i < word.length(); i++) {
+      hash = 31 * hash + word.charAt(i);
+    }
+    return mix(hash);
+  }
+
+  private static long pairHash(long first, long second) {
+    return mix(first * 0x9e3779b97f4a7c15L + second);
+  }
+
+  private static long mix(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return key;
+  }
+
+  /**
+   * 固定大小的 count-min sketch（保守更新，计数饱和于 Integer.MAX_VALUE）.
+   */
+  static final class CountMinSketch {
+    private final int[][] rows;
+    private final int mask;
+
+    CountMinSketch(int width) {
+      rows = new int[SKETCH_DEPTH][width];
+      mask = width - 1;
+    }
+
+    void add(long hash) {
+      int estimate = estimate(hash);
+      if (estimate == Integer.MAX_VALUE) {
+        return;
+      }
+      // 保守更新：只增加等于当前最小值的计数器，减小高估
+      for (int i = 0; i < SKETCH_DEPTH; i++) {
+        int slot = slot(hash, i);
+        if (rows[i][slot] == estimate) {
+          rows[i][slot]++;
+        }
+      }
+    }
+
+    int estimate(long hash) {
+      int min = Integer.MAX_VALUE;
+      for (int i = 0; i < SKETCH_DEPTH; i++) {
+        min = Math.min(min, rows[i][slot(hash, i)]);
+      }
+      return min;
+    }
+
+    private int slot(long hash, int row) {
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      return (h1 + row * h2) & mask;
+    }
+  }
+}
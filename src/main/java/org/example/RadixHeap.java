@@ -0,0 +1,122 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * 单调基数堆：键为非负 long，要求每次插入的键不小于最近一次弹出的键
+ * （Dijkstra 和一致启发函数的 A* 都满足）. 元素按与上次弹出键的最高不同位分桶，
+ * 只在桶 0 为空时重新分配一个桶，均摊每个元素最多移动 64 次，不做比较排序.
+ * 边权是小正整数（二元组计数）时比通用的二叉堆更快，也不需要装箱的 long[] 元素.
+ */
+public final class RadixHeap {
+
+  private static final int BUCKETS = 65;
+
+  private final long[][] keys = new long[BUCKETS][];
+  private final int[][] values = new int[BUCKETS][];
+  private final int[] sizes = new int[BUCKETS];
+  private long last;
+  private int size;
+
+  public RadixHeap() {
+    for (int b = 0; b < BUCKETS; b++) {
+      keys[b] = new long[4];
+      values[b] = new int[4];
+    }
+  }
+
+  /**
+   * 插入 (key, value)，key 不能小于上次弹出的键.
+   */
+  public void push(long key, int value) {
+    if (key < last) {
+      throw new IllegalArgumentException("键 " + key + " 小于上次弹出的键 " + last);
+    }
+    add(bucket(key), key, value);
+    size++;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 最小键（不弹出）. 堆为空时行为未定义.
+   */
+  public long peekKey() {
+    refill();
+    return keys[0][sizes[0] - 1];
+  }
+
+  /**
+   * 最小键对应的值（不弹出）.
+   */
+  public int peekValue() {
+    refill();
+    return values[0][sizes[0] - 1];
+  }
+
+  /**
+   * 弹出最小键的元素，返回其值；弹出后可用 lastKey() 读取它的键.
+   */
+  public int pop() {
+    refill();
+    size--;
+    return values[0][--sizes[0]];
+  }
+
+  /** 最近一次弹出（或重新分桶时确定）的最小键. */
+  public long lastKey() {
+    return last;
+  }
+
+  /** 清空，可重复使用已分配的桶. */
+  public void clear() {
+    Arrays.fill(sizes, 0);
+    size = 0;
+    last = 0;
+  }
+
+  /** 桶 0 为空时，取第一个非空桶中的最小键作为新的 last，把该桶重新分配到更低的桶. */
+  private void refill() {
+    if (sizes[0] > 0) {
+      return;
+    }
+    int b = 1;
+    while (sizes[b] == 0) {
+      b++;
+    }
+    long[] bucketKeys = keys[b];
+    int[] bucketValues = values[b];
+    int count = sizes[b];
+    long min = bucketKeys[0];
+    for (int i = 1; i < count; i++) {
+      min = Math.min(min, bucketKeys[i]);
+    }
+    last = min;
+    // 这些键与新的 last 只在更低的位上不同，全部落入更低的桶，不会写回桶 b
+    sizes[b] = 0;
+    for (int i = 0; i < count; i++) {
+      add(bucket(bucketKeys[i]), bucketKeys[i], bucketValues[i]);
+    }
+  }
+
+  private int bucket(long key) {
+    return key == last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ last);
+  }
+
+  private void add(int b, long key, int value) {
+    int n = sizes[b];
+    if (n == keys[b].length) {
+      keys[b] = Arrays.copyOf(keys[b], n * 2);
+      values[b] = Arrays.copyOf(values[b], n * 2);
+    }
+    keys[b][n] = key;
+    values[b][n] = value;
+    sizes[b] = n + 1;
+  }
+}
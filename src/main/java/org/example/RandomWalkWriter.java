@@ -0,0 +1,147 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 流式写出随机游走：每经过一个顶点就把单词写入固定大小的缓冲区，缓冲区满时写入文件，
+ * 内存占用与游走长度无关. 一个文件可以写多次游走，每次一行，单词之间以空格分隔.
+ */
+public class RandomWalkWriter implements Closeable {
+
+  private static final int BUFFER_BYTES = 1 << 16;
+  /** 单词编码缓存的槽位数上限，与顶点数无关. */
+  static final int CACHE_ENTRIES = 1 << 12;
+
+  private final CompactGraph graph;
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+  /** 直接映射的单词 UTF-8 编码缓存：顶点 v 放在槽位 v & mask，冲突时覆盖. */
+  private final int[] cachedVertex;
+  private final byte[][] cachedBytes;
+  private long walks;
+  private long bytes;
+
+  /**
+   * 创建（或覆盖）输出文件.
+   */
+  public RandomWalkWriter(CompactGraph graph, Path file) throws IOException {
+    this.graph = graph;
+    int entries = Integer.highestOneBit(
+            Math.max(1, Math.min(CACHE_ENTRIES, graph.vertexCount())) * 2 - 1);
+    this.cachedVertex = new int[entries];
+    this.cachedBytes = new byte[entries][];
+    Arrays.fill(cachedVertex, -1);
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+  }
+
+  /**
+   * 从 start 出发游走最多 maxSteps 步，写成一行，返回走过的步数.
+   */
+  public int writeWalk(int start, int maxSteps, SplittableRandom random) throws IOException {
+    boolean[] first = {true};
+    IOException[] failure = new IOException[1];
+    int steps = GraphAlgorithms.randomWalk(graph, start, maxSteps, random, v -> {
+      if (failure[0] != null) {
+        return;
+      }
+      try {
+        if (!first[0]) {
+          put((byte) ' ');
+        }
+        first[0] = false;
+        put(word(v));
+      } catch (IOException e) {
+        failure[0] = e;
+      }
+    });
+    if (failure[0] != null) {
+      throw failure[0];
+    }
+    put((byte) '\n');
+    walks++;
+    return steps;
+  }
+
+  /**
+   * 从随机起点写出 count 次游走，每次最多 maxSteps 步，返回总步数.
+   */
+  public long writeWalks(int count, int maxSteps, SplittableRandom random) throws IOException {
+    long steps = 0;
+    int n = graph.vertexCount();
+    for (int i = 0; i < count && n > 0; i++) {
+      steps += writeWalk(random.nextInt(n), maxSteps, random);
+    }
+    return steps;
+  }
+
+  /** 已写出的游走条数. */
+  public long walks() {
+    return walks;
+  }
+
+  /** 已写出（含缓冲区中）的字节数. */
+  public long bytes() {
+    return bytes;
+  }
+
+  /**
+   * 把缓冲区中的内容写入文件.
+   */
+  public void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private byte[] word(int v) {
+    int slot = v & (cachedVertex.length - 1);
+    if (cachedVertex[slot] != v) {
+      cachedBytes[slot] = graph.word(v).getBytes(StandardCharsets.UTF_8);
+      cachedVertex[slot] = v;
+    }
+    return cachedBytes[slot];
+  }
+
+  private void put(byte b) throws IOException {
+    if (!buffer.hasRemaining()) {
+      flush();
+    }
+    buffer.put(b);
+    bytes++;
+  }
+
+  private void put(byte[] data) throws IOException {
+    if (buffer.remaining() < data.length) {
+      flush();
+    }
+    if (data.length > buffer.capacity()) {
+      ByteBuffer large = ByteBuffer.wrap(data);
+      while (large.hasRemaining()) {
+        channel.write(large);
+      }
+    } else {
+      buffer.put(data);
+    }
+    bytes += data.length;
+  }
+}
@@ -0,0 +1,168 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * 强连通分量索引：把图缩成分量 DAG，用于快速判断 u 能否到达 v.
+ * Tarjan 按逆拓扑序给分量编号，DAG 中的边总是从编号大的分量指向编号小的分量，
+ * 所以 component(u) < component(v) 时直接判定不可达. 分量数不多时预先计算每个分量
+ * 可达分量的位图，查询为 O(1)；否则在 DAG 上只搜索编号不小于目标分量的部分.
+ */
+public final class SccIndex {
+
+  /** 位图总大小上限（字节），超过时改为按需搜索. */
+  static final long MAX_BITSET_BYTES = 32L << 20;
+
+  private final int[] component;
+  private final int componentCount;
+  private final int[] componentSize;
+  private final int[] dagOffsets;
+  private final int[] dagTargets;
+  /** reach[c] 为分量 c 可达的分量集合（含自身）；分量太多时为 null. */
+  private final long[][] reach;
+
+  private SccIndex(int[] component, int componentCount, int[] componentSize, int[] dagOffsets,
+                   int[] dagTargets, long[][] reach) {
+    this.component = component;
+    this.componentCount = componentCount;
+    this.componentSize = componentSize;
+    this.dagOffsets = dagOffsets;
+    this.dagTargets = dagTargets;
+    this.reach = reach;
+  }
+
+  /**
+   * 计算强连通分量并构建缩点 DAG.
+   */
+  public static SccIndex build(CompactGraph graph) {
+    return build(graph, MAX_BITSET_BYTES);
+  }
+
+  /**
+   * 同上，可达位图总大小超过 maxBitsetBytes 时不预先计算，查询时在 DAG 上搜索.
+   */
+  public static SccIndex build(CompactGraph graph, long maxBitsetBytes) {
+    int[] component = GraphAlgorithms.stronglyConnectedComponents(graph);
+    int count = 0;
+    for (int c : component) {
+      count = Math.max(count, c + 1);
+    }
+    int[] size = new int[count];
+    for (int c : component) {
+      size[c]++;
+    }
+    // 缩点 DAG：收集跨分量的边，去重后按起点分量存成 CSR
+    LongIntHashMap dagEdges = new LongIntHashMap();
+    for (int u = 0; u < graph.vertexCount(); u++) {
+      for (long e = graph.firstEdge(u); e < graph.firstEdge(u + 1); e++) {
+        int cu = component[u];
+        int cv = component[graph.target(e)];
+        if (cu != cv) {
+          dagEdges.put(LongIntHashMap.pack(cu, cv), 1);
+        }
+      }
+    }
+    int[] offsets = new int[count + 1];
+    for (int slot = 0; slot < dagEdges.capacity(); slot++) {
+      if (dagEdges.isOccupied(slot)) {
+        offsets[LongIntHashMap.high(dagEdges.keyAt(slot)) + 1]++;
+      }
+    }
+    for (int c = 0; c < count; c++) {
+      offsets[c + 1] += offsets[c];
+    }
+    int[] targets = new int[dagEdges.size()];
+    int[] cursor = Arrays.copyOf(offsets, count);
+    for (int slot = 0; slot < dagEdges.capacity(); slot++) {
+      if (dagEdges.isOccupied(slot)) {
+        long key = dagEdges.keyAt(slot);
+        targets[cursor[LongIntHashMap.high(key)]++] = LongIntHashMap.low(key);
+      }
+    }
+    long[][] reach = null;
+    int words = (count + 63) >>> 6;
+    if ((long) count * words * Long.BYTES <= maxBitsetBytes) {
+      // 后继分量编号更小，按编号升序计算时后继的集合已经完成
+      reach = new long[count][];
+      for (int c = 0; c < count; c++) {
+        // 只需要覆盖到编号 c 为止
+        long[] bits = new long[(c >>> 6) + 1];
+        bits[c >>> 6] |= 1L << c;
+        for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+          long[] next = reach[targets[i]];
+          for (int w = 0; w < next.length; w++) {
+            bits[w] |= next[w];
+          }
+        }
+        reach[c] = bits;
+      }
+    }
+    return new SccIndex(component, count, size, offsets, targets, reach);
+  }
+
+  /** 顶点所在分量的编号. */
+  public int component(int vertex) {
+    return component[vertex];
+  }
+
+  public int componentCount() {
+    return componentCount;
+  }
+
+  /** 分量包含的顶点数. */
+  public int componentSize(int c) {
+    return componentSize[c];
+  }
+
+  /** 缩点 DAG 的边数. */
+  public int dagEdgeCount() {
+    return dagTargets.length;
+  }
+
+  /** 是否预先计算了可达位图（查询为 O(1)）. */
+  public boolean hasBitsets() {
+    return reach != null;
+  }
+
+  /**
+   * 判断从 from 出发能否到达 to（同一顶点视为可达）.
+   */
+  public boolean canReach(int from, int to) {
+    return componentReaches(component[from], component[to]);
+  }
+
+  /**
+   * 判断分量 from 能否到达分量 to.
+   */
+  public boolean componentReaches(int from, int to) {
+    if (from == to) {
+      return true;
+    }
+    if (from < to) {
+      return false;
+    }
+    if (reach != null) {
+      return (reach[from][to >>> 6] & (1L << to)) != 0;
+    }
+    // 在 DAG 上做 DFS，编号小于 to 的分量不可能再到达 to，直接跳过
+    boolean[] seen = new boolean[from - to + 1];
+    int[] stack = new int[from - to + 1];
+    int top = 0;
+    stack[top++] = from;
+    seen[from - to] = true;
+    while (top > 0) {
+      int c = stack[--top];
+      for (int i = dagOffsets[c]; i < dagOffsets[c + 1]; i++) {
+        int d = dagTargets[i];
+        if (d == to) {
+          return true;
+        }
+        if (d > to && !seen[d - to]) {
+          seen[d - to] = true;
+          stack[top++] = d;
+        }
+      }
+    }
+    return false;
+  }
+}
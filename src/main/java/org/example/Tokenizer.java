@@ -0,0 +1,208 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 可配置的分词器：ASCII 查表快速路径 + Unicode 回退，可选停用词过滤与词干提取.
+ */
+public class Tokenizer {
+
+  /** 常用英文停用词. */
+  public static final Set<String> ENGLISH_STOP_WORDS = Collections.unmodifiableSet(
+          new HashSet<>(Arrays.asList("a", "an", "and", "are", "as", "at", "be", "but", "by",
+                  "for", "if", "in", "into", "is", "it", "no", "not", "of", "on", "or", "so",
+                  "such", "that", "the", "their", "then", "there", "these", "they", "this",
+                  "to", "was", "will", "with")));
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final byte SEPARATOR = 0;
+  /** 词内连接符（撇号、连字符），只在单词中间保留. */
+  private static final byte JOINER = 1;
+
+  /** ASCII 查表：0 为分隔符，1 为连接符，其余为小写后的字符. */
+  private final byte[] asciiTable = new byte[128];
+  private final Set<String> stopWords;
+  private final boolean stemming;
+
+  private Tokenizer(Builder builder) {
+    for (char c = 'a'; c <= 'z'; c++) {
+      asciiTable[c] = (byte) c;
+      asciiTable[Character.toUpperCase(c)] = (byte) c;
+    }
+    if (builder.keepDigits) {
+      for (char c = '0'; c <= '9'; c++) {
+        asciiTable[c] = (byte) c;
+      }
+    }
+    if (builder.keepApostrophes) {
+      asciiTable['\''] = JOINER;
+    }
+    if (builder.keepHyphens) {
+      asciiTable['-'] = JOINER;
+    }
+    this.stopWords = builder.stopWords;
+    this.stemming = builder.stemming;
+  }
+
+  /**
+   * 与 Main.readFile 行为一致的默认分词器：只保留字母并转小写.
+   */
+  public static Tokenizer defaultTokenizer() {
+    return builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * 流式分词，每得到一个单词就交给 sink.
+   */
+  public void tokenize(Reader reader, Consumer<String> sink) throws IOException {
+    char[] buffer = new char[BUFFER_SIZE];
+    char[] token = new char[64];
+    int length = 0;
+    int read;
+    while ((read = reader.read(buffer)) != -1) {
+      for (int i = 0; i < read; i++) {
+        char c = buffer[i];
+        char mapped;
+        if (c < 128) {
+          // ASCII 快速路径：一次查表
+          byte kind = asciiTable[c];
+          if (kind == SEPARATOR) {
+            length = emit(token, length, sink);
+            continue;
+          }
+          mapped = kind == JOINER ? c : (char) kind;
+        } else if (Character.isLetter(c)) {
+          mapped = Character.toLowerCase(c);
+        } else {
+          length = emit(token, length, sink);
+          continue;
+        }
+        if (length == token.length) {
+          token = Arrays.copyOf(token, length * 2);
+        }
+        token[length++] = mapped;
+      }
+    }
+    emit(token, length, sink);
+  }
+
+  /**
+   * 对整段文本分词.
+   */
+  public List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    try {
+      tokenize(new StringReader(text), tokens::add);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return tokens;
+  }
+
+  private int emit(char[] token, int length, Consumer<String> sink) {
+    int start = 0;
+    int end = length;
+    // 去掉首尾的撇号、连字符
+    while (start < end && isJoiner(token[start])) {
+      start++;
+    }
+    while (end > start && isJoiner(token[end - 1])) {
+      end--;
+    }
+    if (start < end) {
+      String word = new String(token, start, end - start);
+      // 停用词表是原形，先过滤再提取词干（否则 this 会变成 thi 而漏过）
+      if (!stopWords.contains(word)) {
+        sink.accept(stemming ? stem(word) : word);
+      }
+    }
+    return 0;
+  }
+
+  private boolean isJoiner(char c) {
+    return c < 128 && asciiTable[c] == JOINER;
+  }
+
+  /**
+   * 轻量英文词干提取：去掉常见的复数、-ing、-ed 后缀.
+   */
+  public static String stem(String word) {
+    int n = word.length();
+    if (n > 4 && word.endsWith("ies")) {
+      return word.substring(0, n - 3) + "y";
+    }
+    if (n > 4 && word.endsWith("sses")) {
+      return word.substring(0, n - 2);
+    }
+    if (n > 5 && word.endsWith("ing")) {
+      return word.substring(0, n - 3);
+    }
+    if (n > 4 && word.endsWith("ed") && !word.endsWith("eed")) {
+      return word.substring(0, n - 2);
+    }
+    if (n > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+      return word.substring(0, n - 1);
+    }
+    return word;
+  }
+
+  /**
+   * 分词器配置.
+   */
+  public static class Builder {
+    private boolean keepApostrophes;
+    private boolean keepDigits;
+    private boolean keepHyphens;
+    private boolean stemming;
+    private Set<String> stopWords = Collections.emptySet();
+
+    /** 保留词内撇号，如 don't. */
+    public Builder keepApostrophes(boolean keep) {
+      this.keepApostrophes = keep;
+      return this;
+    }
+
+    /** 把数字视为单词字符. */
+    public Builder keepDigits(boolean keep) {
+      this.keepDigits = keep;
+      return this;
+    }
+
+    /** 保留词内连字符，如 well-known. */
+    public Builder keepHyphens(boolean keep) {
+      this.keepHyphens = keep;
+      return this;
+    }
+
+    /** 启用轻量词干提取. */
+    public Builder stemming(boolean enable) {
+      this.stemming = enable;
+      return this;
+    }
+
+    /** 过滤给定的停用词（按小写匹配）. */
+    public Builder stopWords(Collection<String> words) {
+      this.stopWords = Collections.unmodifiableSet(new HashSet<>(words));
+      return this;
+    }
+
+    public Tokenizer build() {
+      return new Tokenizer(this);
+    }
+  }
+}
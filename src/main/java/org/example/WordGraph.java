@@ -0,0 +1,408 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * 堆内的紧凑有向词图（CSR 邻接数组）.
+ * 单词编号为 0..n-1，顶点 v 的出边下标为 [firstEdge(v), firstEdge(v + 1))，
+ * 同一顶点的出边按目标编号升序排列.
+ */
+public class WordGraph implements CompactGraph {
+
+  private final String[] words;
+  private final Map<String, Integer> ids;
+  private final int[] offsets;
+  private final int[] targets;
+  private final int[] weights;
+  private final int[] inOffsets;
+  private final int[] sources;
+  private final int[] inWeights;
+
+  /**
+   * words 与 ids 可为 null，此时子类须覆盖 word(int) 与 id(String)，按需生成标签.
+   */
+  WordGraph(String[] words, Map<String, Integer> ids, int[] offsets, int[] targets,
+            int[] weights) {
+    this.words = words;
+    this.ids = ids;
+    this.offsets = offsets;
+    this.targets = targets;
+    this.weights = weights;
+    // 反向 CSR：按目标计数得到入边偏移，再按源编号顺序填入，每段自然按源编号升序
+    int n = offsets.length - 1;
+    inOffsets = new int[n + 1];
+    for (int t : targets) {
+      inOffsets[t + 1]++;
+    }
+    for (int v = 0; v < n; v++) {
+      inOffsets[v + 1] += inOffsets[v];
+    }
+    sources = new int[targets.length];
+    inWeights = new int[targets.length];
+    int[] cursor = Arrays.copyOf(inOffsets, n);
+    for (int u = 0; u < n; u++) {
+      for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+        int slot = cursor[targets[e]]++;
+        sources[slot] = u;
+        inWeights[slot] = weights[e];
+      }
+    }
+  }
+
+  /**
+   * 对已分好词的文本（以空白分隔）一次性计数并冻结成图.
+   */
+  public static WordGraph build(String text) {
+    Builder builder = new Builder();
+    int length = text.length();
+    int i = 0;
+    while (i < length) {
+      while (i < length && isSpace(text.charAt(i))) {
+        i++;
+      }
+      int start = i;
+      while (i < length && !isSpace(text.charAt(i))) {
+        i++;
+      }
+      if (start < i) {
+        builder.addWord(text, start, i);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * 由 Main 使用的邻接表构建紧凑图.
+   */
+  public static WordGraph fromAdjacencyMap(Map<String, Map<String, Integer>> adjGraph) {
+    Builder builder = new Builder();
+    for (Map.Entry<String, Map<String, Integer>> fromEntry : adjGraph.entrySet()) {
+      for (Map.Entry<String, Integer> toEntry : fromEntry.getValue().entrySet()) {
+        builder.addEdge(fromEntry.getKey(), toEntry.getKey(), toEntry.getValue());
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * 由 JGraphT 图构建紧凑图（保留孤立顶点）.
+   */
+  public static WordGraph fromJgraphT(Graph<String, DefaultWeightedEdge> graph) {
+    Builder builder = new Builder();
+    for (String vertex : graph.vertexSet()) {
+      builder.addVertex(vertex);
+    }
+    for (DefaultWeightedEdge edge : graph.edgeSet()) {
+      builder.addEdge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge),
+              (int) graph.getEdgeWeight(edge));
+    }
+    return builder.build();
+  }
+
+  /** 与正则 \s 相同的空白字符集合. */
+  private static boolean isSpace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  @Override
+  public int vertexCount() {
+    return offsets.length - 1;
+  }
+
+  @Override
+  public long edgeCount() {
+    return targets.length;
+  }
+
+  @Override
+  public int id(String word) {
+    Integer id = ids.get(word);
+    return id == null ? -1 : id;
+  }
+
+  @Override
+  public String word(int id) {
+    return words[id];
+  }
+
+  @Override
+  public int outDegree(int v) {
+    return offsets[v + 1] - offsets[v];
+  }
+
+  @Override
+  public long firstEdge(int v) {
+    return offsets[v];
+  }
+
+  @Override
+  public int target(long edge) {
+    return targets[(int) edge];
+  }
+
+  @Override
+  public int weight(long edge) {
+    return weights[(int) edge];
+  }
+
+  @Override
+  public long firstInEdge(int v) {
+    return inOffsets[v];
+  }
+
+  @Override
+  public int source(long inEdge) {
+    return sources[(int) inEdge];
+  }
+
+  @Override
+  public int inWeight(long inEdge) {
+    return inWeights[(int) inEdge];
+  }
+
+  @Override
+  public int inDegree(int v) {
+    return inOffsets[v + 1] - inOffsets[v];
+  }
+
+  @Override
+  public int weight(int from, int to) {
+    int edge = Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to);
+    return edge >= 0 ? weights[edge] : 0;
+  }
+
+  /**
+   * 转换成 Main 中其余功能使用的邻接表.
+   */
+  public Map<String, Map<String, Integer>> toAdjacencyMap() {
+    Map<String, Map<String, Integer>> graph = new HashMap<>();
+    for (int v = 0; v < vertexCount(); v++) {
+      int degree = outDegree(v);
+      if (degree == 0) {
+        continue;
+      }
+      Map<String, Integer> edges = new HashMap<>((int) (degree / 0.75f) + 1);
+      for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+        edges.put(word(targets[e]), weights[e]);
+      }
+      graph.put(word(v), edges);
+    }
+    return graph;
+  }
+
+  /**
+   * 冻结成 CSR：统计出度、前缀和得到偏移，再按目标编号排序每个顶点的出边.
+   * counts 的键为 pack(from, to)，值为边权.
+   */
+  static WordGraph freeze(String[] words, LongIntHashMap counts) {
+    int n = words.length;
+    int[][] csr = freezeEdges(n, counts);
+    Map<String, Integer> ids = new HashMap<>((int) (n / 0.75f) + 1);
+    for (int v = 0; v < n; v++) {
+      ids.put(words[v], v);
+    }
+    return new WordGraph(words, ids, csr[0], csr[1], csr[2]);
+  }
+
+  /**
+   * 只冻结边：返回 {offsets, targets, weights}，供自行保存顶点标签的子类使用.
+   */
+  static int[][] freezeEdges(int n, LongIntHashMap counts) {
+    int[] offsets = new int[n + 1];
+    for (int slot = 0; slot < counts.capacity(); slot++) {
+      if (counts.isOccupied(slot)) {
+        offsets[LongIntHashMap.high(counts.keyAt(slot)) + 1]++;
+      }
+    }
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] += offsets[v];
+    }
+    // 先把 (目标, 权重) 打包成 long 放入各自区段，排序后再拆开
+    long[] packed = new long[counts.size()];
+    int[] cursor = Arrays.copyOf(offsets, n);
+    for (int slot = 0; slot < counts.capacity(); slot++) {
+      if (counts.isOccupied(slot)) {
+        long key = counts.keyAt(slot);
+        int from = LongIntHashMap.high(key);
+        packed[cursor[from]++] = LongIntHashMap.pack(LongIntHashMap.low(key),
+                counts.valueAt(slot));
+      }
+    }
+    for (int v = 0; v < n; v++) {
+      Arrays.sort(packed, offsets[v], offsets[v + 1]);
+    }
+    int[] targets = new int[packed.length];
+    int[] weights = new int[packed.length];
+    for (int e = 0; e < packed.length; e++) {
+      targets[e] = LongIntHashMap.high(packed[e]);
+      weights[e] = LongIntHashMap.low(packed[e]);
+    }
+    return new int[][] {offsets, targets, weights};
+  }
+
+  /**
+   * 流式建图：每个单词只做一次字典查询，二元组计数在 long 键哈希表中完成，
+   * 全部计数结束后才冻结成 CSR 数组.
+   */
+  public static class Builder {
+    private String[] words = new String[16];
+    private int wordCount;
+    /** 单词字典：开放寻址表，槽位存单词编号+1（0 表示空），可直接用字符区间查询. */
+    private int[] table = new int[64];
+    private int[] hashes = new int[16];
+    private final LongIntHashMap counts = new LongIntHashMap(1024);
+    private int previous = -1;
+
+    /**
+     * 追加一个单词，与上一个单词构成一条边.
+     */
+    public Builder addWord(String word) {
+      return addWord(word, 0, word.length());
+    }
+
+    /**
+     * 追加 text[start, end) 这一段作为单词；字典中已有时不会创建新字符串.
+     */
+    public Builder addWord(CharSequence text, int start, int end) {
+      int id = intern(text, start, end);
+      if (previous >= 0) {
+        counts.addTo(LongIntHashMap.pack(previous, id), 1);
+      }
+      previous = id;
+      return this;
+    }
+
+    /**
+     * 结束当前段落（如文件边界），下一个单词不与之前的单词相连.
+     */
+    public Builder endSegment() {
+      previous = -1;
+      return this;
+    }
+
+    /**
+     * 加入一个顶点（可以没有边）.
+     */
+    public Builder addVertex(String word) {
+      intern(word, 0, word.length());
+      return this;
+    }
+
+    /**
+     * 直接累加一条边的权重.
+     */
+    public Builder addEdge(String from, String to, int weight) {
+      int fromId = intern(from, 0, from.length());
+      int toId = intern(to, 0, to.length());
+      counts.addTo(LongIntHashMap.pack(fromId, toId), weight);
+      return this;
+    }
+
+    private int intern(CharSequence text, int start, int end) {
+      int hash = 0;
+      for (int i = start; i < end; i++) {
+        hash = 31 * hash + text.charAt(i);
+      }
+      int mask = table.length - 1;
+      int slot = spread(hash) & mask;
+      while (table[slot] != 0) {
+        int id = table[slot] - 1;
+        if (hashes[id] == hash && sameChars(words[id], text, start, end)) {
+          return id;
+        }
+        slot = (slot + 1) & mask;
+      }
+      int id = wordCount++;
+      if (id == words.length) {
+        words = Arrays.copyOf(words, id * 2);
+        hashes = Arrays.copyOf(hashes, id * 2);
+      }
+      words[id] = text.subSequence(start, end).toString();
+      hashes[id] = hash;
+      table[slot] = id + 1;
+      if (wordCount * 2 > table.length) {
+        rehash();
+      }
+      return id;
+    }
+
+    /** 相似单词的 hashCode 往往连续，先打散再取槽位，避免线性探测聚集. */
+    private static int spread(int hash) {
+      hash ^= hash >>> 16;
+      hash *= 0x85ebca6b;
+      hash ^= hash >>> 13;
+      hash *= 0xc2b2ae35;
+      return hash ^ (hash >>> 16);
+    }
+
+    private static boolean sameChars(String word, CharSequence text, int start, int end) {
+      if (word.length() != end - start) {
+        return false;
+      }
+      for (int i = 0; i < word.length(); i++) {
+        if (word.charAt(i) != text.charAt(start + i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void rehash() {
+      table = new int[table.length * 2];
+      int mask = table.length - 1;
+      for (int id = 0; id < wordCount; id++) {
+        int slot = spread(hashes[id]) & mask;
+        while (table[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        table[slot] = id + 1;
+      }
+    }
+
+    /** 目前不同的边数. */
+    int edgeCount() {
+      return counts.size();
+    }
+
+    /** 编号对应的单词. */
+    String word(int id) {
+      return words[id];
+    }
+
+    /** 边计数表，键为 pack(from, to)；只读，供调用方直接遍历而不必冻结. */
+    LongIntHashMap counts() {
+      return counts;
+    }
+
+    /** 是否已有边 from -> to，不会加入新单词. */
+    boolean containsEdge(String from, String to) {
+      int fromId = lookup(from);
+      int toId = lookup(to);
+      return fromId >= 0 && toId >= 0 && counts.containsKey(LongIntHashMap.pack(fromId, toId));
+    }
+
+    /** 单词编号，不存在时返回 -1（String.hashCode 与 intern 中的哈希相同）. */
+    private int lookup(String word) {
+      int hash = word.hashCode();
+      int mask = table.length - 1;
+      for (int slot = spread(hash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+        int id = table[slot] - 1;
+        if (hashes[id] == hash && words[id].equals(word)) {
+          return id;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * 冻结成 CSR 数组.
+     */
+    public WordGraph build() {
+      return freeze(Arrays.copyOf(words, wordCount), counts);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+import org.example.Main;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testApproxPageRank {
+
+    // 游走次数越多，蒙特卡洛近似越接近精确的幂迭代结果
+    @Test
+    public void testErrorShrinksWithMoreWalks() {
+        Graph<String, DefaultWeightedEdge> graph =
+                Main.convertToJgraphT(Main.buildDirectedGraph(Main.readFile("Easy Test.txt")));
+        Map<String, Double> exact =
+                Main.calPersonalizedPageRank(graph, graph.vertexSet(), 0.85, 200);
+        Map<String, Double> coarse = Main.approxPageRank(graph, 0.85, 10, 4, 42L);
+        Map<String, Double> fine = Main.approxPageRank(graph, 0.85, 20000, 4, 42L);
+        double coarseError = Main.pageRankError(exact, coarse);
+        double fineError = Main.pageRankError(exact, fine);
+        assertEquals(exact.size(), fine.size());
+        assertTrue(fineError < 0.02, "L1误差过大: " + fineError);
+        assertTrue(fineError < coarseError);
+    }
+
+    // 相同种子、相同线程数结果可复现
+    @Test
+    public void testReproducible() {
+        Graph<String, DefaultWeightedEdge> graph =
+                Main.convertToJgraphT(Main.buildDirectedGraph(Main.readFile("Easy Test.txt")));
+        assertEquals(Main.approxPageRank(graph, 0.85, 100, 3, 7L),
+                Main.approxPageRank(graph, 0.85, 100, 3, 7L));
+    }
+}
@@ -0,0 +1,151 @@
+import org.example.Autocomplete;
+import org.example.Main;
+import org.example.WordGraph;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testAutocomplete {
+
+    // 与每次对邻接表排序的结果一致（权重降序，相同时按编号）
+    @Test
+    public void testMatchesSortedAdjacency() {
+        WordGraph graph = randomGraph(5_000, new Random(1));
+        Map<String, Map<String, Integer>> adjGraph = graph.toAdjacencyMap();
+        Autocomplete autocomplete = Autocomplete.build(graph, 4);
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            String word = graph.word(v);
+            assertEquals(naive(graph, adjGraph, word, 4), autocomplete.suggest(word, 4));
+            assertEquals(naive(graph, adjGraph, word, 2), autocomplete.suggest(word, 2));
+        }
+        assertTrue(autocomplete.suggest("missing", 4).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> Autocomplete.build(graph, 0));
+    }
+
+    // 两词续写与穷举两层前 k 个后继的结果一致
+    @Test
+    public void testContinuations() {
+        WordGraph graph = randomGraph(2_000, new Random(2));
+        Map<String, Map<String, Integer>> adjGraph = graph.toAdjacencyMap();
+        Autocomplete autocomplete = Autocomplete.build(graph, 3);
+        for (int v = 0; v < graph.vertexCount(); v += 3) {
+            String word = graph.word(v);
+            List<double[]> candidates = new ArrayList<>();
+            List<String> phrases = new ArrayList<>();
+            for (String next : naive(graph, adjGraph, word, 3)) {
+                double p1 = probability(adjGraph, word, next);
+                for (String next2 : naive(graph, adjGraph, next, 3)) {
+                    candidates.add(new double[] {p1 * probability(adjGraph, next, next2), phrases.size()});
+                    phrases.add(next + " " + next2);
+                }
+            }
+            candidates.sort(Comparator.comparingDouble((double[] c) -> -c[0]).thenComparingDouble(c -> c[1]));
+            List<String> expected = candidates.stream().limit(4)
+                    .map(c -> phrases.get((int) c[1])).collect(Collectors.toList());
+            assertEquals(expected, autocomplete.continuations(word, 4));
+        }
+    }
+
+    // 交互查询给出最常见的下一个单词
+    @Test
+    public void testQueryNextWords() {
+        Map<String, Map<String, Integer>> adjGraph =
+                Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+        System.setIn(new ByteArrayInputStream("The\nnowhere\nexit\n".getBytes(StandardCharsets.UTF_8)));
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+        try {
+            Main.queryNextWords(adjGraph);
+        } finally {
+            System.setOut(originalOut);
+        }
+        String output = out.toString(StandardCharsets.UTF_8);
+        // scientist 与 team 都出现两次，按编号（首次出现的顺序）排列
+        assertTrue(output.contains("下一个单词：scientist, team, "), output);
+        assertTrue(output.contains("两词续写：scientist "), output);
+        assertTrue(output.contains("No suggestions after nowhere!"), output);
+        assertTrue(output.contains("已退出单词补全。"), output);
+    }
+
+    // 查询延迟的 p50 / p99（微秒），与每次排序邻接表对比；耗时只输出，不作断言
+    @Test
+    public void benchmarkLatencyPercentiles() {
+        Random random = new Random(3);
+        WordGraph graph = randomGraph(100_000, random);
+        Map<String, Map<String, Integer>> adjGraph = graph.toAdjacencyMap();
+        Autocomplete autocomplete = Autocomplete.build(graph, 5);
+        int queries = 200_000;
+        String[] words = new String[queries];
+        for (int i = 0; i < queries; i++) {
+            // 查询偏向高频词，与输入时的分布相近
+            words[i] = graph.word((int) (graph.vertexCount() * Math.pow(random.nextDouble(), 3)));
+        }
+        long[] fast = new long[queries];
+        long[] slow = new long[queries];
+        long sink = 0;
+        for (int i = 0; i < queries; i++) {
+            long start = System.nanoTime();
+            sink += autocomplete.suggest(words[i], 5).size();
+            fast[i] = System.nanoTime() - start;
+            start = System.nanoTime();
+            sink += naive(graph, adjGraph, words[i], 5).size();
+            slow[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(fast);
+        Arrays.sort(slow);
+        assertTrue(sink > 0);
+        // 计时之外抽查结果与排序邻接表一致
+        for (int i = 0; i < queries; i += 1000) {
+            assertEquals(naive(graph, adjGraph, words[i], 5), autocomplete.suggest(words[i], 5));
+        }
+        System.out.printf("补全延迟 预计算: p50 %.2f us, p99 %.2f us; 排序邻接表: p50 %.2f us, p99 %.2f us%n",
+                fast[queries / 2] / 1e3, fast[queries * 99 / 100] / 1e3,
+                slow[queries / 2] / 1e3, slow[queries * 99 / 100] / 1e3);
+    }
+
+    private static List<String> naive(WordGraph graph, Map<String, Map<String, Integer>> adjGraph,
+                                      String word, int k) {
+        Map<String, Integer> edges = adjGraph.getOrDefault(word, Map.of());
+        return edges.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, Integer> e) -> -e.getValue())
+                        .thenComparingInt(e -> graph.id(e.getKey())))
+                .limit(k)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static double probability(Map<String, Map<String, Integer>> adjGraph, String from, String to) {
+        Map<String, Integer> edges = adjGraph.get(from);
+        int total = edges.values().stream().mapToInt(Integer::intValue).sum();
+        return (double) edges.get(to) / total;
+    }
+
+    // 出度和权重都偏斜的随机图：编号小的词出现更多
+    private static WordGraph randomGraph(int n, Random random) {
+        WordGraph.Builder builder = new WordGraph.Builder();
+        for (int i = 0; i < n; i++) {
+            builder.addVertex("w" + i);
+        }
+        for (int i = 0; i < n; i++) {
+            int degree = 1 + (int) (200 / Math.sqrt(i + 1)) + random.nextInt(4);
+            for (int k = 0; k < degree; k++) {
+                int target = (int) (n * Math.pow(random.nextDouble(), 2));
+                builder.addEdge("w" + i, "w" + target, 1 + random.nextInt(6));
+            }
+        }
+        return builder.build();
+    }
+}
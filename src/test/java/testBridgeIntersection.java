@@ -0,0 +1,90 @@
+import org.example.GraphAlgorithms;
+import org.example.WordGraph;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class testBridgeIntersection {
+
+    // 随机的倾斜图上，求交结果与逐个探测完全一致（覆盖归并和倍增两种分支）
+    @Test
+    public void testMatchesProbing() {
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            WordGraph graph = skewedGraph(200 + random.nextInt(2000), random);
+            for (int query = 0; query < 200; query++) {
+                int a = random.nextInt(graph.vertexCount());
+                int b = random.nextInt(graph.vertexCount());
+                assertArrayEquals(probe(graph, a, b), GraphAlgorithms.bridgeWords(graph, a, b));
+            }
+            int hub = graph.id("hub");
+            for (int b = 0; b < graph.vertexCount(); b++) {
+                assertArrayEquals(probe(graph, hub, b), GraphAlgorithms.bridgeWords(graph, hub, b));
+                assertArrayEquals(probe(graph, b, hub), GraphAlgorithms.bridgeWords(graph, b, hub));
+            }
+        }
+    }
+
+    // 高出度词（类似 the）与低入度词之间的查询：倍增求交对比逐个探测
+    @Test
+    public void testHighDegreeBenchmark() {
+        WordGraph graph = skewedGraph(50_000, new Random(3));
+        int hub = graph.id("hub");
+        int[] targets = new int[1000];
+        Random random = new Random(5);
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = random.nextInt(graph.vertexCount());
+        }
+        System.out.printf("hub 出度 %d，平均入度 %.1f%n", graph.outDegree(hub),
+                (double) graph.edgeCount() / graph.vertexCount());
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            long probed = 0;
+            for (int b : targets) {
+                probed += probe(graph, hub, b).length;
+            }
+            long middle = System.nanoTime();
+            long intersected = 0;
+            for (int b : targets) {
+                intersected += GraphAlgorithms.bridgeWords(graph, hub, b).length;
+            }
+            long end = System.nanoTime();
+            assertEquals(probed, intersected);
+            System.out.printf("逐个探测: %.1f us/次, 有序求交: %.1f us/次 (%.1fx)%n",
+                    (middle - start) / 1000.0 / targets.length,
+                    (end - middle) / 1000.0 / targets.length,
+                    (double) (middle - start) / (end - middle));
+        }
+    }
+
+    // hub 指向所有词，其余词各有几条随机出边
+    private WordGraph skewedGraph(int words, Random random) {
+        WordGraph.Builder builder = new WordGraph.Builder();
+        for (int i = 0; i < words; i++) {
+            builder.addEdge("hub", "w" + i, 1 + random.nextInt(3));
+        }
+        for (int i = 0; i < words; i++) {
+            int degree = random.nextInt(4);
+            for (int k = 0; k < degree; k++) {
+                builder.addEdge("w" + i, "w" + random.nextInt(words), 1);
+            }
+            if (random.nextInt(10) == 0) {
+                builder.addEdge("w" + i, "hub", 1);
+            }
+        }
+        return builder.build();
+    }
+
+    private int[] probe(WordGraph graph, int a, int b) {
+        List<Integer> result = new ArrayList<>();
+        for (long e = graph.firstEdge(a); e < graph.firstEdge(a + 1); e++) {
+            if (graph.weight(graph.target(e), b) > 0) {
+                result.add(graph.target(e));
+            }
+        }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
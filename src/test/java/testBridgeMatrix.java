@@ -0,0 +1,161 @@
+import org.example.BridgeMatrix;
+import org.example.BridgeTable;
+import org.example.GraphAlgorithms;
+import org.example.Main;
+import org.example.WordGraph;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testBridgeMatrix {
+
+    // 写出的个数与逐对查询桥接词的结果一致
+    @Test
+    public void testMatchesPairwiseQueries() throws IOException {
+        WordGraph graph = WordGraph.build(Main.readFile("Easy Test.txt"));
+        Files.createDirectories(Paths.get(System.getProperty("user.dir"), "target"));
+        long pairs = Main.bridgeCountsToFile(graph, "target/bridge-counts.txt", Integer.MAX_VALUE);
+        Map<String, Integer> written = new HashMap<>();
+        for (String line : Files.readAllLines(Paths.get("target/bridge-counts.txt"), StandardCharsets.UTF_8)) {
+            String[] parts = line.split(" ");
+            written.put(parts[0] + " " + parts[1], Integer.parseInt(parts[2]));
+        }
+        assertEquals(pairs, written.size());
+        int expectedPairs = 0;
+        for (int w1 = 0; w1 < graph.vertexCount(); w1++) {
+            for (int w2 = 0; w2 < graph.vertexCount(); w2++) {
+                int count = GraphAlgorithms.bridgeWords(graph, w1, w2).length;
+                if (count > 0) {
+                    expectedPairs++;
+                    assertEquals(count, written.get(graph.word(w1) + " " + graph.word(w2)));
+                }
+            }
+        }
+        assertEquals(expectedPairs, pairs);
+        assertEquals(1, written.get("the analyzed"));
+    }
+
+    // 多线程结果与单线程相同；topN 截断后是完整行的前缀
+    @Test
+    public void testParallelAndTopN() throws IOException {
+        WordGraph graph = randomGraph(20_000, 6, new Random(7));
+        List<String> single = rows(graph, Integer.MAX_VALUE, 1);
+        assertEquals(single, rows(graph, Integer.MAX_VALUE, 8));
+        List<String> limited = rows(graph, 3, 8);
+        assertEquals(single.size(), limited.size());
+        for (int i = 0; i < single.size(); i++) {
+            String[] full = single.get(i).split(" ");
+            String[] top = limited.get(i).split(" ");
+            assertTrue(top.length <= 1 + 2 * 3);
+            assertArrayEquals(Arrays.copyOf(full, top.length), top);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> BridgeMatrix.multiply(graph, 0, 1, (w1, w2, counts) -> { }));
+    }
+
+    // 预热后桥接词表已缓存，查询结果不变
+    @Test
+    public void testWarmBridgeTable() {
+        WordGraph graph = randomGraph(5_000, 4, new Random(8));
+        BridgeTable table = new BridgeTable(graph);
+        long warmed = table.warm(2, 4);
+        assertEquals(warmed, table.cachedPairs());
+        int before = table.cachedPairs();
+        for (int w1 = 0; w1 < graph.vertexCount(); w1 += 13) {
+            for (int w2 = 0; w2 < graph.vertexCount(); w2 += 7) {
+                assertArrayEquals(GraphAlgorithms.bridgeWords(graph, w1, w2), table.bridges(w1, w2));
+            }
+        }
+        assertTrue(table.cachedPairs() >= before);
+    }
+
+    // 缓存大小有上限，没有桥接词的词对不缓存；淘汰后查询结果不变
+    @Test
+    public void testBoundedBridgeTable() {
+        WordGraph graph = randomGraph(5_000, 4, new Random(10));
+        BridgeTable table = new BridgeTable(graph, 100);
+        assertEquals(128, table.capacity());
+        int empty = 0;
+        for (int w1 = 0; w1 < graph.vertexCount(); w1 += 3) {
+            for (int w2 = 0; w2 < graph.vertexCount(); w2 += 11) {
+                int[] expected = GraphAlgorithms.bridgeWords(graph, w1, w2);
+                assertArrayEquals(expected, table.bridges(w1, w2));
+                assertArrayEquals(expected, table.bridges(w1, w2));
+                if (expected.length == 0) {
+                    empty++;
+                }
+                assertTrue(table.cachedPairs() <= table.capacity());
+            }
+        }
+        assertTrue(empty > 0);
+        assertEquals(table.capacity(), table.cachedPairs());
+        BridgeTable fresh = new BridgeTable(graph);
+        for (int w2 = 0; w2 < graph.vertexCount(); w2++) {
+            if (GraphAlgorithms.bridgeWords(graph, 0, w2).length == 0) {
+                fresh.bridges(0, w2);
+            }
+        }
+        assertEquals(0, fresh.cachedPairs());
+        assertThrows(IllegalArgumentException.class, () -> new BridgeTable(graph, 0));
+    }
+
+    // 批量计算与逐对查询的耗时对比
+    @Test
+    public void testBenchmark() throws IOException {
+        WordGraph graph = randomGraph(3_000, 8, new Random(9));
+        long start = System.nanoTime();
+        long pairwise = 0;
+        for (int w1 = 0; w1 < graph.vertexCount(); w1++) {
+            for (int w2 = 0; w2 < graph.vertexCount(); w2++) {
+                if (GraphAlgorithms.bridgeWords(graph, w1, w2).length > 0) {
+                    pairwise++;
+                }
+            }
+        }
+        long pairwiseNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        long bulk = BridgeMatrix.multiply(graph, Integer.MAX_VALUE,
+                Runtime.getRuntime().availableProcessors(), (w1, w2, counts) -> { });
+        long bulkNanos = System.nanoTime() - start;
+        assertEquals(pairwise, bulk);
+        System.out.printf("全部词对桥接词个数 逐对: %d ms, A·A: %d ms (%d 个词对)%n",
+                pairwiseNanos / 1_000_000, bulkNanos / 1_000_000, bulk);
+    }
+
+    private static List<String> rows(WordGraph graph, int topN, int threads) throws IOException {
+        List<String> rows = new ArrayList<>();
+        BridgeMatrix.multiply(graph, topN, threads, (w1, w2, counts) -> {
+            StringBuilder row = new StringBuilder().append(w1);
+            for (int i = 0; i < w2.length; i++) {
+                row.append(' ').append(w2[i]).append(' ').append(counts[i]);
+            }
+            rows.add(row.toString());
+        });
+        return rows;
+    }
+
+    private static WordGraph randomGraph(int n, int degree, Random random) {
+        WordGraph.Builder builder = new WordGraph.Builder();
+        for (int i = 0; i < n; i++) {
+            builder.addVertex("v" + i);
+            // 少量高频词，让部分行的列数远超 topN
+            int d = i % 100 == 0 ? degree * 20 : 1 + random.nextInt(degree);
+            for (int k = 0; k < d; k++) {
+                builder.addEdge("v" + i, "v" + random.nextInt(n), 1 + random.nextInt(5));
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,72 @@
+import org.example.BridgeTable;
+import org.example.Main;
+import org.example.WordGraph;
+import org.junit.jupiter.api.Test;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testBridgeSelection {
+
+    // from -> x -> to 得分 5*2=10，from -> y -> to 得分 1，from -> z -> to 得分 3*3=9
+    private final WordGraph graph = new WordGraph.Builder()
+            .addEdge("from", "x", 5).addEdge("x", "to", 2)
+            .addEdge("from", "y", 1).addEdge("y", "to", 1)
+            .addEdge("from", "z", 3).addEdge("z", "to", 3)
+            .addEdge("to", "from", 1)
+            .build();
+    private final int from = graph.id("from");
+    private final int to = graph.id("to");
+
+    @Test
+    public void testScoresAndMostProbable() {
+        BridgeTable table = new BridgeTable(graph);
+        int[] bridges = table.bridges(from, to);
+        long[] scores = table.scores(from, to);
+        assertEquals(3, bridges.length);
+        for (int i = 0; i < bridges.length; i++) {
+            String word = graph.word(bridges[i]);
+            assertEquals(word.equals("x") ? 10 : word.equals("y") ? 1 : 9, scores[i], word);
+        }
+        assertEquals("x", graph.word(table.select(from, to, BridgeTable.Mode.MOST_PROBABLE, 0.5)));
+        assertEquals(-1, table.select(to, from, BridgeTable.Mode.MOST_PROBABLE, 0.5));
+        assertEquals(-1, table.select(-1, to, BridgeTable.Mode.WEIGHTED, 0.5));
+        // 没有桥接词的 (to, from) 不缓存
+        assertEquals(1, table.cachedPairs());
+    }
+
+    // 按权重抽样的频率接近 10:1:9，均匀抽样接近 1:1:1
+    @Test
+    public void testWeightedSampling() {
+        BridgeTable table = new BridgeTable(graph);
+        SplittableRandom random = new SplittableRandom(1);
+        int samples = 200_000;
+        int[] weighted = new int[graph.vertexCount()];
+        int[] uniform = new int[graph.vertexCount()];
+        for (int i = 0; i < samples; i++) {
+            weighted[table.select(from, to, BridgeTable.Mode.WEIGHTED, random.nextDouble())]++;
+            uniform[table.select(from, to, BridgeTable.Mode.UNIFORM, random.nextDouble())]++;
+        }
+        assertEquals(0.50, (double) weighted[graph.id("x")] / samples, 0.01);
+        assertEquals(0.05, (double) weighted[graph.id("y")] / samples, 0.01);
+        assertEquals(0.45, (double) weighted[graph.id("z")] / samples, 0.01);
+        for (String word : new String[] {"x", "y", "z"}) {
+            assertEquals(1.0 / 3, (double) uniform[graph.id(word)] / samples, 0.01, word);
+        }
+        assertEquals(1, table.cachedPairs());
+    }
+
+    // 最可能模式的生成结果与随机种子无关
+    @Test
+    public void testGenerateWithModes() {
+        String document = "from to from to from to";
+        String best = Main.generateNewText(graph, document, 1L, 2, BridgeTable.Mode.MOST_PROBABLE);
+        assertEquals("from x to from x to from x to", best);
+        assertEquals(best, Main.generateNewText(graph, document, 99L, 4,
+                BridgeTable.Mode.MOST_PROBABLE));
+        String sampled = Main.generateNewText(graph, document, 5L, 2, BridgeTable.Mode.WEIGHTED);
+        assertEquals(sampled, Main.generateNewText(graph, document, 5L, 1,
+                BridgeTable.Mode.WEIGHTED));
+        assertTrue(sampled.matches("(from [xyz] to ?){3}"));
+    }
+}
@@ -0,0 +1,115 @@
+import org.example.GraphAlgorithms;
+import org.example.Main;
+import org.example.RadixHeap;
+import org.example.WordGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class testBucketShortestPath {
+
+    // 单调插入时基数堆的出堆顺序与排序结果一致
+    @Test
+    public void testRadixHeapOrder() {
+        Random random = new Random(1);
+        RadixHeap heap = new RadixHeap();
+        long[] popped = new long[100_000];
+        long[] pushed = new long[popped.length];
+        int count = 0;
+        int n = 0;
+        long floor = 0;
+        while (n < popped.length) {
+            // 插入的键不小于最近弹出的键，跨度覆盖大小两种情况
+            int batch = 1 + random.nextInt(4);
+            for (int i = 0; i < batch && count < pushed.length; i++) {
+                long key = floor + (random.nextBoolean() ? random.nextInt(16) : random.nextInt(1 << 30));
+                pushed[count] = key;
+                heap.push(key, count++);
+            }
+            if (heap.isEmpty()) {
+                break;
+            }
+            long key = heap.peekKey();
+            int value = heap.pop();
+            assertEquals(key, heap.lastKey());
+            assertEquals(pushed[value], key);
+            popped[n++] = key;
+            floor = key;
+        }
+        long[] expected = Arrays.copyOf(pushed, n);
+        Arrays.sort(expected);
+        assertEquals(n, count);
+        assertEquals(Arrays.toString(expected), Arrays.toString(Arrays.copyOf(popped, n)));
+        long last = heap.lastKey();
+        assertThrows(IllegalArgumentException.class, () -> heap.push(last - 1, 0));
+        heap.clear();
+        heap.push(0, 7);
+        assertEquals(7, heap.pop());
+    }
+
+    // 与 JGraphT Dijkstra 的距离一致
+    @Test
+    public void testMatchesJgraphT() {
+        Random random = new Random(2);
+        WordGraph graph = randomGraph(2000, 3, random);
+        Graph<String, DefaultWeightedEdge> jgraph = Main.convertToJgraphT(graph.toAdjacencyMap());
+        for (int query = 0; query < 20; query++) {
+            int s = random.nextInt(graph.vertexCount());
+            long[] dist = GraphAlgorithms.shortestDistances(graph, s, null);
+            DijkstraShortestPath.SingleSourcePaths<String, DefaultWeightedEdge> paths =
+                    new DijkstraShortestPath<>(jgraph).getPaths(graph.word(s));
+            for (int t = 0; t < graph.vertexCount(); t++) {
+                double expected = paths.getWeight(graph.word(t));
+                if (Double.isInfinite(expected)) {
+                    assertEquals(GraphAlgorithms.UNREACHABLE, dist[t]);
+                } else {
+                    assertEquals((long) expected, dist[t]);
+                }
+            }
+        }
+    }
+
+    // 单源查询的耗时对比
+    @Test
+    public void testBenchmark() {
+        WordGraph graph = randomGraph(200_000, 4, new Random(3));
+        Graph<String, DefaultWeightedEdge> jgraph = Main.convertToJgraphT(graph.toAdjacencyMap());
+        int[] sources = {0, 1, 2, 3, 4};
+        long jgraphtNanos = 0;
+        long radixNanos = 0;
+        for (int s : sources) {
+            long start = System.nanoTime();
+            DijkstraShortestPath.SingleSourcePaths<String, DefaultWeightedEdge> paths =
+                    new DijkstraShortestPath<>(jgraph).getPaths(graph.word(s));
+            jgraphtNanos += System.nanoTime() - start;
+            start = System.nanoTime();
+            long[] dist = GraphAlgorithms.shortestDistances(graph, s, new int[graph.vertexCount()]);
+            radixNanos += System.nanoTime() - start;
+            String far = graph.word(graph.vertexCount() - 1);
+            double expected = paths.getWeight(far);
+            if (!Double.isInfinite(expected)) {
+                assertEquals((long) expected, dist[graph.vertexCount() - 1]);
+            }
+        }
+        System.out.printf("单源最短路径 JGraphT: %d ms, 基数堆: %d ms%n",
+                jgraphtNanos / 1_000_000, radixNanos / 1_000_000);
+    }
+
+    private static WordGraph randomGraph(int n, int degree, Random random) {
+        WordGraph.Builder builder = new WordGraph.Builder();
+        for (int i = 0; i < n; i++) {
+            builder.addVertex("v" + i);
+        }
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < degree; k++) {
+                builder.addEdge("v" + i, "v" + random.nextInt(n), 1 + random.nextInt(20));
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,40 @@
+import org.example.Main;
+import org.example.Tokenizer;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class testCompressedInput {
+
+    // gzip 压缩的语料应与原文件建出相同的图，且不依赖扩展名
+    @Test
+    public void testGzipInput() throws IOException {
+        Path dir = Paths.get(System.getProperty("user.dir"), "target", "gzip-test");
+        Files.createDirectories(dir);
+        byte[] text = Files.readAllBytes(Paths.get(System.getProperty("user.dir"), "Easy Test.txt"));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(dir.resolve("easy.bin")))) {
+            out.write(text);
+        }
+        String expected = Main.readFile("Easy Test.txt");
+        assertEquals(expected, Main.readFile("target/gzip-test/easy.bin"));
+        assertEquals(Main.buildDirectedGraph(expected), Main.buildDirectedGraphFromFile(
+                "target/gzip-test/easy.bin", Tokenizer.defaultTokenizer()));
+        assertEquals(Main.buildDirectedGraph(expected), Main.buildDirectedGraphFromCorpus(
+                "target/gzip-test", Tokenizer.defaultTokenizer(), 1));
+    }
+
+    // 不足4字节的普通文本也能正确识别
+    @Test
+    public void testShortPlainInput() throws IOException {
+        Path dir = Paths.get(System.getProperty("user.dir"), "target", "plain-test");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("short.txt"), "Hi", StandardCharsets.UTF_8);
+        assertEquals("hi", Main.readFile("target/plain-test/short.txt"));
+    }
+}
@@ -0,0 +1,79 @@
+import org.example.ConcurrentWordGraph;
+import org.example.Main;
+import org.example.Tokenizer;
+import org.junit.jupiter.api.Test;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testConcurrentWordGraph {
+
+    // 单线程写入结果应与 buildDirectedGraph 一致
+    @Test
+    public void testMatchesBuildDirectedGraph() throws Exception {
+        String text = Main.readFile("Easy Test.txt");
+        ConcurrentWordGraph graph = new ConcurrentWordGraph();
+        graph.addText(new StringReader(text), Tokenizer.defaultTokenizer());
+        assertEquals(Main.buildDirectedGraph(text), graph.snapshot());
+        assertEquals(List.of("carefully"), graph.bridgeWords("scientist", "analyzed"));
+    }
+
+    // 压力测试：多个写线程与读线程同时运行，最终计数必须精确
+    @Test
+    public void testConcurrentWritersAndReaders() throws Exception {
+        int writers = 8;
+        int rounds = 20000;
+        List<String> words = List.of("w0", "w1", "w2", "w3", "w4", "w5", "w6", "w7");
+        ConcurrentWordGraph graph = new ConcurrentWordGraph();
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 2);
+        CountDownLatch startGate = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < writers; t++) {
+            futures.add(pool.submit(() -> {
+                startGate.await();
+                for (int i = 0; i < rounds; i++) {
+                    // 每轮写入 w0->w1->...->w7 的7条边
+                    graph.addWords(words);
+                }
+                return null;
+            }));
+        }
+        for (int r = 0; r < 2; r++) {
+            futures.add(pool.submit(() -> {
+                startGate.await();
+                long last = 0;
+                while (writing.get()) {
+                    long current = graph.weight("w0", "w1");
+                    assertTrue(current >= last, "计数不应回退");
+                    last = current;
+                    for (String bridge : graph.bridgeWords("w2", "w4")) {
+                        assertEquals("w3", bridge);
+                    }
+                }
+                return null;
+            }));
+        }
+        startGate.countDown();
+        for (int t = 0; t < writers; t++) {
+            futures.get(t).get();
+        }
+        writing.set(false);
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        for (int i = 0; i + 1 < words.size(); i++) {
+            assertEquals((long) writers * rounds, graph.weight(words.get(i), words.get(i + 1)));
+        }
+        assertEquals(7, graph.edgeCount());
+        assertEquals(8, graph.vertexCount());
+    }
+}
@@ -0,0 +1,67 @@
+import org.example.Main;
+import org.example.Tokenizer;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testCorpusIngestion {
+
+    private Path writeCorpus() throws IOException {
+        Path dir = Paths.get(System.getProperty("user.dir"), "target", "corpus-test");
+        Files.createDirectories(dir.resolve("sub"));
+        Files.writeString(dir.resolve("a.txt"), "the cat sat", StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("sub").resolve("b.txt"), "on the cat", StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("sub").resolve("c.md"), "the dog", StandardCharsets.UTF_8);
+        return dir;
+    }
+
+    // 目录读取：合并所有文件的边，文件之间不产生 sat -> on
+    @Test
+    public void testDirectoryIngestion() throws IOException {
+        writeCorpus();
+        Map<String, Map<String, Integer>> graph = Main.buildDirectedGraphFromCorpus(
+                "target/corpus-test", Tokenizer.defaultTokenizer(), 4);
+        assertEquals(2, graph.get("the").get("cat"));
+        assertEquals(1, graph.get("the").get("dog"));
+        assertFalse(graph.containsKey("sat"));
+    }
+
+    @Test
+    public void testGlobIngestion() throws IOException {
+        writeCorpus();
+        Map<String, Map<String, Integer>> graph = Main.buildDirectedGraphFromCorpus(
+                "target/corpus-test/**.txt", Tokenizer.defaultTokenizer(), 2);
+        assertEquals(2, graph.get("the").get("cat"));
+        assertFalse(graph.get("the").containsKey("dog"));
+        assertNull(Main.buildDirectedGraphFromCorpus(
+                "target/corpus-test/*.none", Tokenizer.defaultTokenizer(), 2));
+    }
+
+    // 进度按已读完文件的字节累计，最后一行等于全部文件的大小
+    @Test
+    public void testProgressCountsCompletedBytes() throws IOException {
+        writeCorpus();
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+        try {
+            Main.buildDirectedGraphFromCorpus("target/corpus-test", Tokenizer.defaultTokenizer(), 2);
+        } finally {
+            System.setOut(originalOut);
+        }
+        String[] lines = out.toString(StandardCharsets.UTF_8).trim().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[2].startsWith("已处理 3/3 个文件（28 字节），"), lines[2]);
+        assertFalse(lines[2].endsWith(" 0.0 MB/s"), lines[2]);
+    }
+}
@@ -0,0 +1,93 @@
+import org.example.GraphAlgorithms;
+import org.example.GraphStats;
+import org.example.Main;
+import org.example.WordGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.connectivity.KosarajuStrongConnectivityInspector;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testGraphStats {
+
+    // 与 JGraphT 的计数和强连通分量一致
+    @Test
+    public void testMatchesJgraphT() {
+        Map<String, Map<String, Integer>> adjGraph =
+                Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+        Graph<String, DefaultWeightedEdge> jgraph = Main.convertToJgraphT(adjGraph);
+        GraphStats stats = Main.showGraphStatistics(adjGraph);
+        assertEquals(jgraph.vertexSet().size(), stats.vertices());
+        assertEquals(jgraph.edgeSet().size(), stats.edges());
+        long dangling = jgraph.vertexSet().stream().filter(v -> jgraph.outDegreeOf(v) == 0).count();
+        assertEquals(dangling, stats.dangling());
+        int maxOut = jgraph.vertexSet().stream().mapToInt(jgraph::outDegreeOf).max().getAsInt();
+        assertEquals(maxOut, stats.maxOutDegree());
+        KosarajuStrongConnectivityInspector<String, DefaultWeightedEdge> inspector =
+                new KosarajuStrongConnectivityInspector<>(jgraph);
+        assertEquals(inspector.stronglyConnectedSets().size(), stats.components());
+        int largest = inspector.stronglyConnectedSets().stream().mapToInt(Set::size).max().getAsInt();
+        assertEquals(largest, stats.largestComponent());
+        assertEquals(stats.vertices(), Arrays.stream(stats.outDegreeHistogram()).sum());
+        assertEquals(stats.vertices(), Arrays.stream(stats.inDegreeHistogram()).sum());
+        assertEquals(stats.edges(), Arrays.stream(stats.weightHistogram()).sum());
+        assertTrue(stats.report().contains("强连通分量"));
+    }
+
+    // 多线程统计与单线程结果相同，SCC 与 JGraphT 划分一致
+    @Test
+    public void testParallelMatchesSequential() {
+        Random random = new Random(4);
+        WordGraph.Builder builder = new WordGraph.Builder();
+        for (int i = 0; i < 50_000; i++) {
+            int degree = random.nextInt(5);
+            for (int k = 0; k < degree; k++) {
+                builder.addEdge("v" + i, "v" + random.nextInt(50_000), 1 + random.nextInt(100));
+            }
+        }
+        WordGraph graph = builder.build();
+        GraphStats single = GraphStats.compute(graph, 1);
+        GraphStats parallel = GraphStats.compute(graph, 8);
+        assertEquals(single.report(), parallel.report());
+        assertArrayEquals(single.weightHistogram(), parallel.weightHistogram());
+
+        int[] component = GraphAlgorithms.stronglyConnectedComponents(graph);
+        Graph<String, DefaultWeightedEdge> jgraph = Main.convertToJgraphT(graph.toAdjacencyMap());
+        Map<String, Integer> expected = new HashMap<>();
+        int c = 0;
+        for (Set<String> set : new KosarajuStrongConnectivityInspector<>(jgraph).stronglyConnectedSets()) {
+            for (String v : set) {
+                expected.put(v, c);
+            }
+            c++;
+        }
+        // 同一 JGraphT 分量中的顶点分量编号相同，且分量数相同
+        Map<Integer, Integer> mapping = new HashMap<>();
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            Integer previous = mapping.putIfAbsent(expected.get(graph.word(v)), component[v]);
+            assertTrue(previous == null || previous == component[v]);
+        }
+        assertEquals(c, single.components());
+    }
+
+    // 长链不会栈溢出
+    @Test
+    public void testLongChain() {
+        WordGraph.Builder builder = new WordGraph.Builder();
+        for (int i = 0; i < 1_000_000; i++) {
+            builder.addWord("w" + i);
+        }
+        builder.addWord("w0");
+        GraphStats stats = GraphStats.compute(builder.build(), 4);
+        assertEquals(1, stats.components());
+        assertEquals(1_000_000, stats.largestComponent());
+        assertEquals(0, stats.dangling());
+    }
+}
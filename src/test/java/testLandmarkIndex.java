@@ -0,0 +1,195 @@
+import org.example.EdgeCosts;
+import org.example.GraphAlgorithms;
+import org.example.LandmarkIndex;
+import org.example.Main;
+import org.example.WordGraph;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testLandmarkIndex {
+
+    // 下界不超过真实距离，上界不小于真实距离
+    @Test
+    public void testBounds() {
+        WordGraph graph = randomGraph(1000, 3, new Random(1));
+        for (LandmarkIndex.Selection selection : LandmarkIndex.Selection.values()) {
+            LandmarkIndex index = LandmarkIndex.build(graph, 6, selection);
+            assertEquals(6, index.landmarks().length);
+            for (int s = 0; s < graph.vertexCount(); s += 7) {
+                long[] dist = GraphAlgorithms.shortestDistances(graph, s, null);
+                for (int t = 0; t < graph.vertexCount(); t++) {
+                    if (dist[t] == GraphAlgorithms.UNREACHABLE) {
+                        continue;
+                    }
+                    assertTrue(index.lowerBound(s, t) <= dist[t]);
+                    assertTrue(index.upperBound(s, t) >= dist[t]);
+                }
+            }
+        }
+    }
+
+    // A* 与 Dijkstra 的最短距离一致，并列路径全部列出
+    @Test
+    public void testAStarMatchesDijkstra() {
+        Random random = new Random(2);
+        WordGraph graph = randomGraph(3000, 3, random);
+        LandmarkIndex index = LandmarkIndex.build(graph, 8, LandmarkIndex.Selection.DEGREE);
+        for (int query = 0; query < 200; query++) {
+            int s = random.nextInt(graph.vertexCount());
+            int t = random.nextInt(graph.vertexCount());
+            long[] dist = GraphAlgorithms.shortestDistances(graph, s, null);
+            List<int[]> withLandmarks = GraphAlgorithms.shortestPaths(graph, s, t, index, 10, null);
+            List<int[]> plain = GraphAlgorithms.shortestPaths(graph, s, t, null, 10, null);
+            if (dist[t] == GraphAlgorithms.UNREACHABLE) {
+                assertTrue(withLandmarks.isEmpty());
+                assertTrue(plain.isEmpty());
+                continue;
+            }
+            assertEquals(plain.size(), withLandmarks.size());
+            for (int[] path : withLandmarks) {
+                assertEquals(s, path[0]);
+                assertEquals(t, path[path.length - 1]);
+                assertEquals(dist[t], length(graph, path));
+            }
+        }
+
+        WordGraph diamond = new WordGraph.Builder()
+                .addEdge("a", "b", 1).addEdge("b", "d", 2)
+                .addEdge("a", "c", 2).addEdge("c", "d", 1)
+                .addEdge("a", "d", 4).build();
+        List<int[]> tied = GraphAlgorithms.shortestPaths(diamond, diamond.id("a"), diamond.id("d"),
+                LandmarkIndex.build(diamond, 2, LandmarkIndex.Selection.DEGREE), 10, null);
+        assertEquals(2, tied.size());
+
+        WordGraph easy = WordGraph.build(Main.readFile("Easy Test.txt"));
+        List<int[]> paths = GraphAlgorithms.shortestPaths(easy, easy.id("wrote"), easy.id("report"),
+                LandmarkIndex.build(easy, 4, LandmarkIndex.Selection.PAGERANK), 10, null);
+        assertEquals(1, paths.size());
+        assertArrayEquals(new int[] {easy.id("wrote"), easy.id("a"), easy.id("detailed"), easy.id("report")},
+                paths.get(0));
+    }
+
+    // 随机短文本（有大量死胡同顶点）上，各种地标与代价模型的 A* 都与 Dijkstra 一致
+    @Test
+    public void testRandomTextsMatchDijkstra() {
+        WordGraph repro = WordGraph.build("w4 w2 w3 w8 w7 w5 w2 w4 w1 w9 w0");
+        LandmarkIndex reproIndex = LandmarkIndex.build(repro, EdgeCosts.COUNTS, 8,
+                LandmarkIndex.Selection.FARTHEST);
+        List<int[]> reproPaths = GraphAlgorithms.shortestPaths(repro, EdgeCosts.COUNTS,
+                repro.id("w4"), repro.id("w3"), reproIndex, 10, null);
+        assertArrayEquals(new int[] {repro.id("w4"), repro.id("w2"), repro.id("w3")}, reproPaths.get(0));
+
+        Random random = new Random(11);
+        for (int round = 0; round < 150; round++) {
+            StringBuilder text = new StringBuilder();
+            int vocabulary = 5 + random.nextInt(30);
+            int length = 5 + random.nextInt(120);
+            for (int i = 0; i < length; i++) {
+                text.append(" w").append(random.nextInt(vocabulary));
+            }
+            WordGraph graph = WordGraph.build(text.toString());
+            for (EdgeCosts.Model model : EdgeCosts.Model.values()) {
+                EdgeCosts costs = EdgeCosts.build(graph, model);
+                for (LandmarkIndex.Selection selection : LandmarkIndex.Selection.values()) {
+                    LandmarkIndex index = LandmarkIndex.build(graph, costs, 1 + random.nextInt(8),
+                            selection);
+                    for (int s = 0; s < graph.vertexCount(); s++) {
+                        long[] dist = GraphAlgorithms.shortestDistances(graph, costs, s, null);
+                        for (int t = 0; t < graph.vertexCount(); t++) {
+                            List<int[]> plain = GraphAlgorithms.shortestPaths(graph, costs, s, t, null, 10, null);
+                            List<int[]> guided = GraphAlgorithms.shortestPaths(graph, costs, s, t, index, 10, null);
+                            assertEquals(plain.size(), guided.size(), text.toString());
+                            assertEquals(dist[t] == GraphAlgorithms.UNREACHABLE, guided.isEmpty());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // 很长的最短路径（链上还有一处并列）不会栈溢出
+    @Test
+    public void testLongChainPaths() {
+        WordGraph.Builder builder = new WordGraph.Builder();
+        int n = 500_000;
+        for (int i = 0; i + 1 < n; i++) {
+            builder.addEdge("v" + i, "v" + (i + 1), 1);
+        }
+        builder.addEdge("v0", "x", 1).addEdge("x", "v2", 1);
+        WordGraph graph = builder.build();
+        List<int[]> paths = GraphAlgorithms.shortestPaths(graph, graph.id("v0"), graph.id("v" + (n - 1)),
+                null, 10, null);
+        assertEquals(2, paths.size());
+        assertEquals(n, paths.get(0).length);
+        assertEquals(n - 1, length(graph, paths.get(1)));
+    }
+
+    // 出堆顶点数：ALT 启发的 A* 对比普通 Dijkstra
+    @Test
+    public void testSettledNodesBenchmark() {
+        Random random = new Random(3);
+        WordGraph graph = ringGraph(200_000, random);
+        long start = System.nanoTime();
+        LandmarkIndex index = LandmarkIndex.build(graph, 16, LandmarkIndex.Selection.FARTHEST);
+        long built = System.nanoTime();
+        long dijkstraSettled = 0;
+        long altSettled = 0;
+        long dijkstraTime = 0;
+        long altTime = 0;
+        int[] settled = new int[1];
+        for (int query = 0; query < 100; query++) {
+            int s = random.nextInt(graph.vertexCount());
+            int t = random.nextInt(graph.vertexCount());
+            long t0 = System.nanoTime();
+            List<int[]> plain = GraphAlgorithms.shortestPaths(graph, s, t, null, 1, settled);
+            long t1 = System.nanoTime();
+            dijkstraSettled += settled[0];
+            List<int[]> alt = GraphAlgorithms.shortestPaths(graph, s, t, index, 1, settled);
+            long t2 = System.nanoTime();
+            altSettled += settled[0];
+            dijkstraTime += t1 - t0;
+            altTime += t2 - t1;
+            assertEquals(length(graph, plain.get(0)), length(graph, alt.get(0)));
+        }
+        System.out.printf("建索引 %d ms；平均出堆顶点 Dijkstra %d，ALT %d (%.1fx)；平均耗时 %.2f ms / %.2f ms%n",
+                (built - start) / 1_000_000, dijkstraSettled / 100, altSettled / 100,
+                (double) dijkstraSettled / altSettled, dijkstraTime / 1e8, altTime / 1e8);
+        assertTrue(altSettled < dijkstraSettled);
+    }
+
+    private long length(WordGraph graph, int[] path) {
+        long length = 0;
+        for (int i = 0; i + 1 < path.length; i++) {
+            length += graph.weight(path[i], path[i + 1]);
+        }
+        return length;
+    }
+
+    private WordGraph randomGraph(int n, int degree, Random random) {
+        WordGraph.Builder builder = new WordGraph.Builder();
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < degree; k++) {
+                builder.addEdge("v" + i, "v" + random.nextInt(n), 1 + random.nextInt(9));
+            }
+        }
+        return builder.build();
+    }
+
+    // 双向环加少量随机弦，距离分布较广，便于体现启发函数的剪枝效果
+    private WordGraph ringGraph(int n, Random random) {
+        WordGraph.Builder builder = new WordGraph.Builder();
+        for (int i = 0; i < n; i++) {
+            builder.addEdge("v" + i, "v" + ((i + 1) % n), 1 + random.nextInt(5));
+            builder.addEdge("v" + ((i + 1) % n), "v" + i, 1 + random.nextInt(5));
+            if (random.nextInt(50) == 0) {
+                int j = (i + random.nextInt(1000)) % n;
+                builder.addEdge("v" + i, "v" + j, 1 + random.nextInt(50));
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,93 @@
+import org.example.Main;
+import org.example.Metrics;
+import org.example.Tokenizer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testMetrics {
+
+    @AfterEach
+    public void disable() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    // 关闭时不记录任何数据
+    @Test
+    public void testDisabledRecordsNothing() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+        Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+        assertEquals(0, Metrics.count("graph_build"));
+        assertEquals("{}", Metrics.toJson());
+    }
+
+    @Test
+    public void testRecordsOperations() {
+        Metrics.setEnabled(true);
+        Metrics.reset();
+        Map<String, Map<String, Integer>> graph =
+                Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+        Main.calPageRank(Main.convertToJgraphT(graph), 0.85, 10);
+        assertEquals(1, Metrics.count("ingest"));
+        assertEquals(1, Metrics.count("graph_build"));
+        assertEquals(1, Metrics.count("convert"));
+        assertEquals(1, Metrics.count("pagerank"));
+        String json = Metrics.toJson();
+        assertTrue(json.contains("\"pagerank\":{\"count\":1"), json);
+        assertTrue(Metrics.summaryLine().contains("pagerank n=1"));
+    }
+
+    // 读取失败时计时器也要停止并记录
+    @Test
+    public void testFailedReadIsTimed() {
+        Metrics.setEnabled(true);
+        Metrics.reset();
+        assertNull(Main.readFile("no such file.txt"));
+        assertNull(Main.buildWordGraphFromFile("no such file.txt", Tokenizer.defaultTokenizer()));
+        assertEquals(2, Metrics.count("ingest"));
+    }
+
+    // 提前结束的查询（单词不在图中）也要记录耗时
+    @Test
+    public void testEarlyExitQueriesAreTimed() {
+        Metrics.setEnabled(true);
+        Metrics.reset();
+        Map<String, Map<String, Integer>> graph =
+                Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        System.setIn(new ByteArrayInputStream(
+                "the bananas\nscientist analyzed\nexit\n".getBytes(StandardCharsets.UTF_8)));
+        System.setOut(new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8));
+        try {
+            Main.queryBridgeWords(graph);
+        } finally {
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+        }
+        assertEquals(2, Metrics.count("bridge_query"));
+    }
+
+    // 直方图分位数的相对误差应在分桶精度之内
+    @Test
+    public void testPercentiles() {
+        for (long i = 1; i <= 10000; i++) {
+            Metrics.record("op", i * 1000, 0);
+        }
+        long p50 = Metrics.percentile("op", 0.50);
+        long p99 = Metrics.percentile("op", 0.99);
+        assertTrue(Math.abs(p50 - 5_000_000) < 5_000_000 * 0.07, "p50=" + p50);
+        assertTrue(Math.abs(p99 - 9_900_000) < 9_900_000 * 0.07, "p99=" + p99);
+        assertEquals(10_000_000, Metrics.percentile("op", 1.0));
+    }
+}
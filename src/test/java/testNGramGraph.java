@@ -0,0 +1,77 @@
+import org.example.Main;
+import org.example.NGramGraph;
+import org.example.WordGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testNGramGraph {
+
+    // n = 2 时与普通二元组图一致
+    @Test
+    public void testBigramOrderMatchesDirectedGraph() {
+        String text = Main.readFile("Easy Test.txt");
+        assertEquals(Main.buildDirectedGraph(text), Main.buildNGramGraph(text, 2));
+        assertThrows(IllegalArgumentException.class, () -> NGramGraph.build(text, 1));
+    }
+
+    @Test
+    public void testTrigramContexts() {
+        NGramGraph trigram = NGramGraph.build(Main.readFile("Easy Test.txt"), 3);
+        WordGraph graph = trigram.graph();
+        int from = graph.id("the_scientist");
+        assertArrayEquals(new String[] {"the", "scientist"}, trigram.contextWords(from));
+        assertEquals(1, graph.weight(from, graph.id("scientist_carefully")));
+        assertEquals(1, graph.weight(from, graph.id("scientist_analyzed")));
+        assertEquals(2, graph.outDegree(from));
+        // 标签由前缀树按需生成，与编号互相对应；不完整或未出现的上下文返回 -1
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            assertEquals(v, graph.id(graph.word(v)));
+        }
+        assertEquals(-1, graph.id("the"));
+        assertEquals(-1, graph.id("the_scientist_carefully"));
+        assertEquals(-1, graph.id("scientist_the"));
+        // 上下文 x_y 与 x 共享前缀节点：前缀节点数 = 不同单词数 + 不同上下文数
+        assertTrue(trigram.prefixNodeCount() < 2 * graph.vertexCount());
+    }
+
+    // 现有的桥接词、最短路径功能可以直接在 n 阶图上使用
+    @Test
+    public void testExistingOperations() throws IOException {
+        Map<String, Map<String, Integer>> trigram =
+                Main.buildNGramGraph(Main.readFile("Easy Test.txt"), 3);
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(outContent, true, StandardCharsets.UTF_8));
+            System.setIn(new ByteArrayInputStream(
+                    "the_scientist carefully_analyzed\nexit\n".getBytes(StandardCharsets.UTF_8)));
+            Main.queryBridgeWords(trigram);
+            Graph<String, DefaultWeightedEdge> jgraph = Main.convertToJgraphT(trigram);
+            System.setIn(new ByteArrayInputStream(
+                    "wrote_a\nexit\n".getBytes(StandardCharsets.UTF_8)));
+            Main.calcShortestPath(jgraph, "shortest.dot", "shortest.png");
+        } finally {
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+        }
+        String output = outContent.toString(StandardCharsets.UTF_8);
+        assertTrue(output.contains(
+                "The bridge words from the_scientist to carefully_analyzed are: scientist_carefully."),
+                output);
+        assertTrue(output.contains("最短路径 wrote_a -> a_detailed ：wrote_a -> a_detailed，长度 = 1.0"),
+                output);
+    }
+}
@@ -0,0 +1,114 @@
+import org.example.GraphAlgorithms;
+import org.example.Main;
+import org.example.OffHeapWordGraph;
+import org.example.Tokenizer;
+import org.example.WordGraph;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class testOffHeapGraph {
+
+    // 堆外图与堆内图的结构和各算法结果应完全一致
+    @Test
+    public void testMatchesOnHeapGraph() throws IOException {
+        Map<String, Map<String, Integer>> adjGraph =
+                Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+        WordGraph heap = WordGraph.fromAdjacencyMap(adjGraph);
+        Files.createDirectories(Paths.get(System.getProperty("user.dir"), "target"));
+        Main.saveOffHeapGraph(adjGraph, "target/easy.graph");
+        try (OffHeapWordGraph offHeap = Main.openOffHeapGraph("target/easy.graph")) {
+            assertEquals(heap.vertexCount(), offHeap.vertexCount());
+            assertEquals(heap.edgeCount(), offHeap.edgeCount());
+            for (int v = 0; v < heap.vertexCount(); v++) {
+                assertEquals(heap.word(v), offHeap.word(v));
+                assertEquals(v, offHeap.id(heap.word(v)));
+                assertEquals(heap.firstEdge(v), offHeap.firstEdge(v));
+            }
+            for (long e = 0; e < heap.edgeCount(); e++) {
+                assertEquals(heap.target(e), offHeap.target(e));
+                assertEquals(heap.weight(e), offHeap.weight(e));
+            }
+            assertEquals(-1, offHeap.id("bananas"));
+            assertEquals(adjGraph, offHeapToMap(offHeap));
+
+            int scientist = offHeap.id("scientist");
+            int analyzed = offHeap.id("analyzed");
+            assertArrayEquals(new int[] {offHeap.id("carefully")},
+                    GraphAlgorithms.bridgeWords(offHeap, scientist, analyzed));
+            int wrote = heap.id("wrote");
+            assertArrayEquals(GraphAlgorithms.shortestDistances(heap, wrote, null),
+                    GraphAlgorithms.shortestDistances(offHeap, wrote, null));
+            assertEquals(8, GraphAlgorithms.shortestDistances(offHeap, wrote, null)[heap.id("but")]);
+            assertArrayEquals(GraphAlgorithms.pageRank(heap, 0.85, 30),
+                    GraphAlgorithms.pageRank(offHeap, 0.85, 30), 1e-12);
+            assertArrayEquals(GraphAlgorithms.randomWalk(heap, wrote, 100, new SplittableRandom(5)),
+                    GraphAlgorithms.randomWalk(offHeap, wrote, 100, new SplittableRandom(5)));
+        }
+    }
+
+    // 计数表很小时分成许多有序段，归并后的正反向 CSR 与堆内图逐项相同
+    @Test
+    public void testExternalSortBuilder() throws IOException {
+        Files.createDirectories(Paths.get(System.getProperty("user.dir"), "target"));
+        SplittableRandom random = new SplittableRandom(11);
+        WordGraph.Builder heapBuilder = new WordGraph.Builder();
+        OffHeapWordGraph.Builder builder =
+                new OffHeapWordGraph.Builder(Paths.get("target/runs.graph"), 500);
+        for (int i = 0; i < 50_000; i++) {
+            // 偏斜的词频，含非 ASCII 单词，检验按字节序排序的词典
+            String word = (random.nextInt(5) == 0 ? "é" : "w") + (int) Math.pow(random.nextInt(3000), 0.8);
+            heapBuilder.addWord(word);
+            builder.addWord(word);
+            if (i % 1000 == 999) {
+                heapBuilder.endSegment();
+                builder.endSegment();
+            }
+        }
+        WordGraph heap = heapBuilder.build();
+        try (OffHeapWordGraph offHeap = builder.build()) {
+            assertEquals(heap.vertexCount(), offHeap.vertexCount());
+            assertEquals(heap.edgeCount(), offHeap.edgeCount());
+            for (int v = 0; v <= heap.vertexCount(); v++) {
+                assertEquals(heap.firstEdge(v), offHeap.firstEdge(v));
+                assertEquals(heap.firstInEdge(v), offHeap.firstInEdge(v));
+            }
+            for (int v = 0; v < heap.vertexCount(); v++) {
+                assertEquals(heap.word(v), offHeap.word(v));
+                assertEquals(v, offHeap.id(heap.word(v)));
+            }
+            for (long e = 0; e < heap.edgeCount(); e++) {
+                assertEquals(heap.target(e), offHeap.target(e));
+                assertEquals(heap.weight(e), offHeap.weight(e));
+                assertEquals(heap.source(e), offHeap.source(e));
+                assertEquals(heap.inWeight(e), offHeap.inWeight(e));
+            }
+        }
+        // 临时有序段在写出后删除
+        try (Stream<Path> files = Files.list(Paths.get("target"))) {
+            assertEquals(0, files.filter(f -> f.getFileName().toString().startsWith("runs.graph.")).count());
+        }
+        try (OffHeapWordGraph streamed = Main.buildOffHeapGraphFromFile("Easy Test.txt",
+                "target/streamed.graph", Tokenizer.defaultTokenizer())) {
+            assertEquals(Main.buildDirectedGraph(Main.readFile("Easy Test.txt")), offHeapToMap(streamed));
+        }
+    }
+
+    private Map<String, Map<String, Integer>> offHeapToMap(OffHeapWordGraph graph) {
+        Map<String, Map<String, Integer>> map = new java.util.HashMap<>();
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            for (long e = graph.firstEdge(v); e < graph.firstEdge(v + 1); e++) {
+                map.computeIfAbsent(graph.word(v), k -> new java.util.HashMap<>())
+                        .put(graph.word(graph.target(e)), graph.weight(e));
+            }
+        }
+        return map;
+    }
+}
@@ -0,0 +1,62 @@
+import org.example.GraphAlgorithms;
+import org.example.Main;
+import org.example.WordGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class testPageRankTopK {
+
+    // 前K结果应与整体排序后截取前K一致，且排名查询与之对应
+    @Test
+    public void testTopKMatchesFullSort() {
+        Graph<String, DefaultWeightedEdge> graph =
+                Main.convertToJgraphT(Main.buildDirectedGraph(Main.readFile("Easy Test.txt")));
+        Map<String, Double> pageRank = Main.calPageRank(graph, 0.85, 50);
+        List<Map.Entry<String, Double>> sorted = new ArrayList<>(pageRank.entrySet());
+        sorted.sort((a, b) -> {
+            int cmp = Double.compare(b.getValue(), a.getValue());
+            return cmp != 0 ? cmp : a.getKey().compareTo(b.getKey());
+        });
+        List<Map.Entry<String, Double>> top = Main.topKPageRank(pageRank, 5);
+        assertEquals(5, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(sorted.get(i).getKey(), top.get(i).getKey());
+            assertEquals(i + 1, Main.pageRankPosition(pageRank, top.get(i).getKey()));
+        }
+        assertEquals(pageRank.size(), Main.topKPageRank(pageRank, 1000).size());
+        assertEquals(pageRank.size(), Main.topKPageRank(pageRank, Integer.MAX_VALUE).size());
+        assertEquals(-1, Main.pageRankPosition(pageRank, "bananas"));
+    }
+
+    // 按分数数组排名（只为结果取单词）与按 Map 排名的结果一致，包括同分的处理
+    @Test
+    public void testScoreArrayRanking() {
+        WordGraph graph = WordGraph.build(Main.readFile("Easy Test.txt"));
+        double[] scores = Main.pageRankScores(graph, 0.85, 50);
+        Map<String, Double> pageRank = Main.calPageRank(graph, 0.85, 50);
+        for (int k : new int[] {0, 1, 5, 17, 1000}) {
+            assertEquals(Main.topKPageRank(pageRank, k), Main.topKPageRank(graph, scores, k));
+        }
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            String word = graph.word(v);
+            assertEquals(Main.pageRankPosition(pageRank, word),
+                    Main.pageRankPosition(graph, scores, word));
+        }
+        assertEquals(-1, Main.pageRankPosition(graph, scores, "bananas"));
+    }
+
+    @Test
+    public void testTopKIndices() {
+        double[] scores = {0.1, 0.7, 0.3, 0.9, 0.2, 0.5};
+        assertArrayEquals(new int[] {3, 1, 5}, Main.topKIndices(scores, 3));
+        assertArrayEquals(new int[] {3, 1, 5}, GraphAlgorithms.topKIndices(scores, 3));
+        assertArrayEquals(new int[0], Main.topKIndices(scores, 0));
+        assertEquals(6, Main.topKIndices(scores, 10).length);
+    }
+}
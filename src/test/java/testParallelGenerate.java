@@ -0,0 +1,69 @@
+import org.example.GraphAlgorithms;
+import org.example.Main;
+import org.example.WordGraph;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testParallelGenerate {
+
+    private final WordGraph graph = WordGraph.build(Main.readFile("Easy Test.txt"));
+
+    // 原文中的词按顺序保留，每个插入的词都是前后两个词之间的桥接词
+    @Test
+    public void testInsertsOnlyBridgeWords() {
+        String input = "Scientist analyzed the data and wrote a detailed report";
+        String[] original = input.toLowerCase().split(" ");
+        String[] output = Main.generateNewText(graph, input, 42L, 4).split(" ");
+        assertEquals("scientist carefully analyzed", String.join(" ", output[0], output[1], output[2]));
+        int k = 0;
+        for (int i = 0; i < original.length; i++) {
+            assertEquals(original[i], output[k++]);
+            if (i + 1 < original.length && !output[k].equals(original[i + 1])) {
+                int[] bridges = GraphAlgorithms.bridgeWords(graph,
+                        graph.id(original[i]), graph.id(original[i + 1]));
+                boolean found = false;
+                for (int b : bridges) {
+                    found |= graph.word(b).equals(output[k]);
+                }
+                assertTrue(found, output[k]);
+                k++;
+            }
+        }
+        assertEquals(output.length, k);
+        assertEquals("hello", Main.generateNewText(graph, "hello", 1L, 2));
+    }
+
+    // 同一 seed 的结果与线程数无关，跨越多个分块
+    @Test
+    public void testReproducibleAcrossThreadCounts() {
+        // 每对相邻词之间都有多个候选桥接词，随机选择才会影响结果
+        WordGraph dense = WordGraph.build("alpha x beta y alpha y beta x alpha z beta x alpha "
+                + "beta z beta alpha");
+        String document = randomDocument(500_000, new String[] {"alpha", "beta"}, new Random(9));
+        long start = System.nanoTime();
+        String single = Main.generateNewText(dense, document, 7L, 1);
+        long middle = System.nanoTime();
+        String parallel = Main.generateNewText(dense, document, 7L, 8);
+        long end = System.nanoTime();
+        assertTrue(single.equals(parallel));
+        assertTrue(single.equals(Main.generateNewText(dense, document, 7L, 3)));
+        assertFalse(single.equals(Main.generateNewText(dense, document, 8L, 8)));
+        assertTrue(single.length() > document.length());
+        System.out.printf("50万词：1 线程 %d ms，8 线程 %d ms%n",
+                (middle - start) / 1_000_000, (end - middle) / 1_000_000);
+    }
+
+    private String randomDocument(int words, String[] vocabulary, Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,41 @@
+import org.example.Main;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testPersonalizedPageRank {
+
+    // 局部推送法与幂迭代的结果应足够接近，且概率质量集中在种子附近
+    @Test
+    public void testPushMatchesPowerIteration() {
+        Map<String, Map<String, Integer>> adjGraph =
+                Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+        Graph<String, DefaultWeightedEdge> graph = Main.convertToJgraphT(adjGraph);
+        List<String> seeds = List.of("scientist");
+        Map<String, Double> exact = Main.calPersonalizedPageRank(graph, seeds, 0.85, 200);
+        Map<String, Double> push = Main.calPersonalizedPageRankPush(adjGraph, seeds, 0.85, 1e-9);
+        double total = 0.0;
+        double error = 0.0;
+        for (Map.Entry<String, Double> entry : exact.entrySet()) {
+            total += entry.getValue();
+            error += Math.abs(entry.getValue() - push.getOrDefault(entry.getKey(), 0.0));
+        }
+        assertEquals(1.0, total, 1e-6);
+        assertTrue(error < 1e-4, "L1误差过大: " + error);
+        assertEquals("scientist", Main.topKPageRank(exact, 1).get(0).getKey());
+    }
+
+    @Test
+    public void testUnknownSeeds() {
+        Map<String, Map<String, Integer>> adjGraph =
+                Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+        assertTrue(Main.calPersonalizedPageRank(Main.convertToJgraphT(adjGraph),
+                List.of("bananas"), 0.85, 10).isEmpty());
+        assertTrue(Main.calPersonalizedPageRankPush(adjGraph, List.of("bananas"), 0.85, 1e-6)
+                .isEmpty());
+    }
+}
@@ -0,0 +1,161 @@
+import org.example.EdgeCosts;
+import org.example.GraphAlgorithms;
+import org.example.LandmarkIndex;
+import org.example.Main;
+import org.example.SccIndex;
+import org.example.WordGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultDirectedWeightedGraph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testProbabilityCost {
+
+    // 出边、入边的代价都等于 -log P(to | from)
+    @Test
+    public void testCostArrays() {
+        Map<String, Map<String, Integer>> adjGraph =
+                Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+        WordGraph graph = WordGraph.fromAdjacencyMap(adjGraph);
+        EdgeCosts costs = EdgeCosts.negLogProbability(graph);
+        assertSame(EdgeCosts.COUNTS, EdgeCosts.build(graph, EdgeCosts.Model.COUNT));
+        for (int u = 0; u < graph.vertexCount(); u++) {
+            Map<String, Integer> edges = adjGraph.get(graph.word(u));
+            for (long e = graph.firstEdge(u); e < graph.firstEdge(u + 1); e++) {
+                int total = edges.values().stream().mapToInt(Integer::intValue).sum();
+                double expected = -Math.log((double) graph.weight(e) / total);
+                assertEquals(Math.max(1, Math.round(expected * EdgeCosts.SCALE)), costs.cost(graph, e));
+                assertEquals(graph.weight(e), EdgeCosts.COUNTS.cost(graph, e));
+            }
+            for (long e = graph.firstInEdge(u); e < graph.firstInEdge(u + 1); e++) {
+                int from = graph.source(e);
+                for (long f = graph.firstEdge(from); f < graph.firstEdge(from + 1); f++) {
+                    if (graph.target(f) == u) {
+                        assertEquals(costs.cost(graph, f), costs.inCost(graph, e));
+                    }
+                }
+            }
+        }
+    }
+
+    // 单源、点到点、双向、A* 在概率代价下都与 JGraphT（双精度 -log P）一致
+    @Test
+    public void testEngineMatchesJgraphT() {
+        Random random = new Random(5);
+        WordGraph.Builder builder = new WordGraph.Builder();
+        int n = 1500;
+        for (int i = 0; i < n; i++) {
+            builder.addVertex("v" + i);
+            for (int k = 0; k < 3; k++) {
+                builder.addEdge("v" + i, "v" + random.nextInt(n), 1 + random.nextInt(30));
+            }
+        }
+        WordGraph graph = builder.build();
+        EdgeCosts costs = EdgeCosts.negLogProbability(graph);
+        Graph<String, DefaultWeightedEdge> jgraph =
+                new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        for (int u = 0; u < n; u++) {
+            jgraph.addVertex(graph.word(u));
+        }
+        for (int u = 0; u < n; u++) {
+            for (long e = graph.firstEdge(u); e < graph.firstEdge(u + 1); e++) {
+                DefaultWeightedEdge edge = jgraph.addEdge(graph.word(u), graph.word(graph.target(e)));
+                jgraph.setEdgeWeight(edge, (double) costs.cost(graph, e) / EdgeCosts.SCALE);
+            }
+        }
+        SccIndex scc = SccIndex.build(graph);
+        LandmarkIndex landmarks = LandmarkIndex.build(graph, costs, 4,
+                LandmarkIndex.Selection.FARTHEST);
+        for (int query = 0; query < 30; query++) {
+            int s = random.nextInt(n);
+            int t = random.nextInt(n);
+            long[] dist = GraphAlgorithms.shortestDistances(graph, costs, s, null);
+            long[] back = GraphAlgorithms.shortestDistancesTo(graph, costs, t, null);
+            assertEquals(dist[t], back[s]);
+            double expected = new DijkstraShortestPath<>(jgraph)
+                    .getPathWeight(graph.word(s), graph.word(t));
+            if (Double.isInfinite(expected)) {
+                assertEquals(GraphAlgorithms.UNREACHABLE, dist[t]);
+                continue;
+            }
+            assertEquals(expected, costs.length(dist[t]), 1e-6);
+            assertEquals(dist[t], cost(graph, costs, GraphAlgorithms.shortestPath(graph, costs, s, t, scc)));
+            assertEquals(dist[t], cost(graph, costs,
+                    GraphAlgorithms.bidirectionalShortestPath(graph, costs, s, t)));
+            List<int[]> plain = GraphAlgorithms.shortestPaths(graph, costs, s, t, null, 10, null);
+            List<int[]> guided = GraphAlgorithms.shortestPaths(graph, costs, s, t, landmarks, 10, null);
+            assertEquals(plain.size(), guided.size());
+            for (int[] path : guided) {
+                assertEquals(dist[t], cost(graph, costs, path));
+            }
+        }
+        // 地标索引的代价模型必须与查询一致
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphAlgorithms.shortestPaths(graph, 0, 1, landmarks, 10, null));
+    }
+
+    // 概率模型偏向高频边：a 经高频的 b 到 d，而不是计数之和更小的 c
+    @Test
+    public void testPrefersLikelyChain() {
+        WordGraph graph = new WordGraph.Builder()
+                .addEdge("a", "b", 9).addEdge("a", "c", 1)
+                .addEdge("b", "d", 5).addEdge("c", "d", 1)
+                .build();
+        int a = graph.id("a");
+        int d = graph.id("d");
+        int[] byCount = GraphAlgorithms.shortestPath(graph, a, d, SccIndex.build(graph));
+        int[] byProbability = GraphAlgorithms.shortestPath(graph,
+                EdgeCosts.negLogProbability(graph), a, d, SccIndex.build(graph));
+        assertArrayEquals(new int[] {a, graph.id("c"), d}, byCount);
+        assertArrayEquals(new int[] {a, graph.id("b"), d}, byProbability);
+    }
+
+    // 交互查询按概率代价输出，长度为 -log P
+    @Test
+    public void testCalcShortestPathProbability() throws IOException {
+        Map<String, Map<String, Integer>> adjGraph =
+                Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+        System.setIn(new ByteArrayInputStream("the team\nexit\n".getBytes(StandardCharsets.UTF_8)));
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+        try {
+            Main.calcShortestPath(Main.convertToJgraphT(adjGraph), "shortest.dot", "shortest.png",
+                    EdgeCosts.Model.PROBABILITY);
+        } finally {
+            System.setOut(originalOut);
+        }
+        String output = out.toString(StandardCharsets.UTF_8);
+        int total = adjGraph.get("the").values().stream().mapToInt(Integer::intValue).sum();
+        double expected = Math.round(-Math.log((double) adjGraph.get("the").get("team") / total)
+                * EdgeCosts.SCALE) / (double) EdgeCosts.SCALE;
+        assertTrue(output.contains("最短路径长度：" + expected), output);
+        assertTrue(output.contains("路径 1: the -> team"), output);
+    }
+
+    private static long cost(WordGraph graph, EdgeCosts costs, int[] path) {
+        long total = 0;
+        for (int i = 1; i < path.length; i++) {
+            for (long e = graph.firstEdge(path[i - 1]); e < graph.firstEdge(path[i - 1] + 1); e++) {
+                if (graph.target(e) == path[i]) {
+                    total += costs.cost(graph, e);
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,114 @@
+import org.example.Main;
+import org.example.PrunedGraphBuilder;
+import org.example.WordGraph;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testPrunedGraph {
+
+    // 阈值为1且预算充足时不应丢弃任何边
+    @Test
+    public void testNoPruning() {
+        String text = Main.readFile("Easy Test.txt");
+        assertEquals(Main.buildDirectedGraph(text),
+                Main.buildPrunedGraph(text, 64L << 20, 1, 1));
+    }
+
+    // 保留下来的边权必须与精确计数一致，且低于阈值的边全部被去掉
+    @Test
+    public void testExactCountsForSurvivors() {
+        Random random = new Random(3L);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200000; i++) {
+            int id = (int) Math.pow(5000, random.nextDouble());
+            // 默认分词器只保留字母，编号用字母表示
+            sb.append('w');
+            for (; id > 0; id /= 26) {
+                sb.append((char) ('a' + id % 26));
+            }
+            sb.append(' ');
+        }
+        String text = sb.toString();
+        Map<String, Map<String, Integer>> exact = Main.buildDirectedGraph(text);
+        PrunedGraphBuilder.Report report = new PrunedGraphBuilder.Report();
+        WordGraph pruned = PrunedGraphBuilder.build(text, 8L << 20, 3, 5, report);
+        int expectedEdges = 0;
+        for (Map<String, Integer> edges : exact.values()) {
+            for (int weight : edges.values()) {
+                if (weight >= 5) {
+                    expectedEdges++;
+                }
+            }
+        }
+        assertEquals(expectedEdges, pruned.edgeCount());
+        for (int v = 0; v < pruned.vertexCount(); v++) {
+            for (long e = pruned.firstEdge(v); e < pruned.firstEdge(v + 1); e++) {
+                String to = pruned.word(pruned.target(e));
+                assertEquals(exact.get(pruned.word(v)).get(to), pruned.weight(e));
+            }
+        }
+        assertEquals(200000, report.tokens());
+        assertTrue(report.droppedBigramTokens() > 0);
+        System.out.println(report);
+    }
+
+    // 预算很小时，第二遍的计数表也不超过预算，保留下来的边权仍是精确值
+    @Test
+    public void testCountingTableStaysWithinBudget() {
+        Random random = new Random(5L);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200000; i++) {
+            int id = (int) Math.pow(5000, random.nextDouble());
+            sb.append('w');
+            for (; id > 0; id /= 26) {
+                sb.append((char) ('a' + id % 26));
+            }
+            sb.append(' ');
+        }
+        String text = sb.toString();
+        Map<String, Map<String, Integer>> exact = Main.buildDirectedGraph(text);
+        PrunedGraphBuilder.Report report = new PrunedGraphBuilder.Report();
+        // 预算的四分之三用于精确计数，约 2000 条边
+        long budget = 2000L * 40 * 4 / 3;
+        int maxEdges = (int) ((budget - budget / 4) / 40);
+        WordGraph pruned = PrunedGraphBuilder.build(text, budget, 1, 1, report);
+        assertTrue(report.peakCountedEdges() <= maxEdges + 1, report.toString());
+        assertTrue(pruned.edgeCount() <= maxEdges);
+        assertTrue(report.droppedEdges() > 0);
+        for (int v = 0; v < pruned.vertexCount(); v++) {
+            for (long e = pruned.firstEdge(v); e < pruned.firstEdge(v + 1); e++) {
+                String to = pruned.word(pruned.target(e));
+                assertEquals(exact.get(pruned.word(v)).get(to), pruned.weight(e));
+            }
+        }
+    }
+
+    // 预算不足时只保留权重最高的边
+    @Test
+    public void testBudgetKeepsHeaviestEdges() {
+        String text = Main.readFile("Easy Test.txt");
+        PrunedGraphBuilder.Report report = new PrunedGraphBuilder.Report();
+        // 预算的四分之三留给精确计数，每条边约 40 字节，这里只能保留 3 条边
+        WordGraph pruned = PrunedGraphBuilder.build(text, 160, 1, 1, report);
+        assertEquals(3, pruned.edgeCount());
+        int the = pruned.id("the");
+        assertEquals(2, pruned.weight(the, pruned.id("scientist")));
+        assertEquals(2, pruned.weight(the, pruned.id("team")));
+        assertTrue(report.droppedEdges() > 0);
+    }
+
+    // 阈值小于 1 时直接拒绝，而不是在第二遍中出错
+    @Test
+    public void testRejectsInvalidThresholds() {
+        String text = Main.readFile("Easy Test.txt");
+        PrunedGraphBuilder.Report report = new PrunedGraphBuilder.Report();
+        assertThrows(IllegalArgumentException.class,
+                () -> PrunedGraphBuilder.build(text, 64L << 20, 0, 1, report));
+        assertThrows(IllegalArgumentException.class,
+                () -> PrunedGraphBuilder.build(text, 64L << 20, 1, -1, report));
+    }
+}
@@ -0,0 +1,115 @@
+import org.example.GraphAlgorithms;
+import org.example.Main;
+import org.example.RandomWalkWriter;
+import org.example.WordGraph;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testRandomWalkWriter {
+
+    private final WordGraph graph = WordGraph.build(Main.readFile("Easy Test.txt"));
+
+    // 每行一次游走，长度不超过上限，相邻单词之间有边且同一行内不重复走边
+    @Test
+    public void testManyWalksOnePerLine() throws IOException {
+        Files.createDirectories(Paths.get(System.getProperty("user.dir"), "target"));
+        long steps = Main.randomWalksToFile(graph, "target/walks.txt", 1000, 5, 17L);
+        List<String> lines = Files.readAllLines(Paths.get("target/walks.txt"), StandardCharsets.UTF_8);
+        assertEquals(1000, lines.size());
+        long counted = 0;
+        for (String line : lines) {
+            String[] words = line.split(" ");
+            assertTrue(words.length <= 6, line);
+            counted += words.length - 1;
+            Set<String> edges = new HashSet<>();
+            for (int i = 0; i + 1 < words.length; i++) {
+                assertTrue(graph.weight(graph.id(words[i]), graph.id(words[i + 1])) > 0, line);
+                assertTrue(edges.add(words[i] + " " + words[i + 1]), line);
+            }
+        }
+        assertEquals(steps, counted);
+    }
+
+    // 写出的内容与 GraphAlgorithms.randomWalk 在相同随机数序列下的结果一致
+    @Test
+    public void testMatchesInMemoryWalk() throws IOException {
+        Path file = Paths.get("target", "walks-same.txt");
+        Files.createDirectories(file.getParent());
+        try (RandomWalkWriter writer = new RandomWalkWriter(graph, file)) {
+            writer.writeWalks(50, 100, new SplittableRandom(3));
+            assertEquals(50, writer.walks());
+        }
+        SplittableRandom random = new SplittableRandom(3);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            int[] path = GraphAlgorithms.randomWalk(graph, random.nextInt(graph.vertexCount()), 100, random);
+            for (int k = 0; k < path.length; k++) {
+                expected.append(k == 0 ? "" : " ").append(graph.word(path[k]));
+            }
+            expected.append('\n');
+        }
+        assertEquals(expected.toString(), Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    // 长游走：内容远大于缓冲区时文件大小与计数一致
+    @Test
+    public void testLongWalkStreams() throws IOException {
+        Random random = new Random(1);
+        WordGraph.Builder builder = new WordGraph.Builder();
+        for (int i = 0; i < 100_000; i++) {
+            for (int k = 0; k < 8; k++) {
+                builder.addEdge("word" + i, "word" + random.nextInt(100_000), 1);
+            }
+        }
+        WordGraph big = builder.build();
+        Path file = Paths.get("target", "walks-long.txt");
+        Files.createDirectories(file.getParent());
+        long bytes;
+        int steps;
+        try (RandomWalkWriter writer = new RandomWalkWriter(big, file)) {
+            steps = writer.writeWalk(0, 500_000, new SplittableRandom(2));
+            bytes = writer.bytes();
+        }
+        assertTrue(steps > 100_000);
+        assertEquals(bytes, Files.size(file));
+        // 顶点数远多于编码缓存的槽位，缓存冲突覆盖后写出的单词仍然正确
+        int[] path = GraphAlgorithms.randomWalk(big, 0, 500_000, new SplittableRandom(2));
+        String[] written = Files.readString(file, StandardCharsets.UTF_8).trim().split(" ");
+        assertEquals(path.length, written.length);
+        for (int k = 0; k < path.length; k++) {
+            assertEquals(big.word(path[k]), written[k]);
+        }
+    }
+
+    // 交互游走结束时输出完整路径，与写入文件的内容相同
+    @Test
+    public void testInteractiveWalkPrintsPath() throws IOException {
+        Files.createDirectories(Paths.get(System.getProperty("user.dir"), "target"));
+        System.setIn(new ByteArrayInputStream("\n\n\nq\n".getBytes(StandardCharsets.UTF_8)));
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+        try {
+            Main.randomWalk(Main.convertToJgraphT(graph), "target/walk.txt");
+        } finally {
+            System.setOut(originalOut);
+        }
+        String output = out.toString(StandardCharsets.UTF_8);
+        String path = Files.readString(Paths.get("target/walk.txt"), StandardCharsets.UTF_8);
+        assertTrue(output.contains("随机游走路径： " + path + System.lineSeparator()), output);
+    }
+}
@@ -0,0 +1,138 @@
+import org.example.GraphAlgorithms;
+import org.example.Main;
+import org.example.OffHeapWordGraph;
+import org.example.WordGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testReverseIndex {
+
+    private final Map<String, Map<String, Integer>> adjGraph =
+            Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+    private final WordGraph graph = WordGraph.fromAdjacencyMap(adjGraph);
+
+    // 反向索引得到的前驱与 JGraphT 的入边一致
+    @Test
+    public void testPredecessors() {
+        Graph<String, DefaultWeightedEdge> jgraph = Main.convertToJgraphT(adjGraph);
+        for (String word : jgraph.vertexSet()) {
+            List<String> expected = new ArrayList<>();
+            for (DefaultWeightedEdge edge : jgraph.incomingEdgesOf(word)) {
+                expected.add(jgraph.getEdgeSource(edge));
+            }
+            List<String> actual = Main.queryPredecessors(graph, word);
+            Collections.sort(expected);
+            Collections.sort(actual);
+            assertEquals(expected, actual, word);
+        }
+        assertTrue(Main.queryPredecessors(graph, "bananas").isEmpty());
+    }
+
+    // 归并求交的桥接词与逐个探测的结果一致
+    @Test
+    public void testBridgeWordsByMerge() {
+        for (int a = 0; a < graph.vertexCount(); a++) {
+            for (int b = 0; b < graph.vertexCount(); b++) {
+                List<Integer> expected = new ArrayList<>();
+                for (long e = graph.firstEdge(a); e < graph.firstEdge(a + 1); e++) {
+                    if (graph.weight(graph.target(e), b) > 0) {
+                        expected.add(graph.target(e));
+                    }
+                }
+                int[] actual = GraphAlgorithms.bridgeWords(graph, a, b);
+                assertEquals(expected.size(), actual.length);
+                for (int i = 0; i < actual.length; i++) {
+                    assertEquals((int) expected.get(i), actual[i]);
+                }
+            }
+        }
+    }
+
+    // 双向 Dijkstra 的路径长度与单向 Dijkstra 相同
+    @Test
+    public void testBidirectionalShortestPath() {
+        for (int s = 0; s < graph.vertexCount(); s++) {
+            long[] dist = GraphAlgorithms.shortestDistances(graph, s, null);
+            for (int t = 0; t < graph.vertexCount(); t++) {
+                int[] path = GraphAlgorithms.bidirectionalShortestPath(graph, s, t);
+                if (dist[t] == GraphAlgorithms.UNREACHABLE) {
+                    assertEquals(0, path.length);
+                    continue;
+                }
+                assertEquals(s, path[0]);
+                assertEquals(t, path[path.length - 1]);
+                long length = 0;
+                for (int i = 0; i + 1 < path.length; i++) {
+                    assertTrue(graph.weight(path[i], path[i + 1]) > 0);
+                    length += graph.weight(path[i], path[i + 1]);
+                }
+                assertEquals(dist[t], length);
+            }
+        }
+    }
+
+    // 沿反向 CSR 的 PageRank 与原先基于 JGraphT 入边的实现一致
+    @Test
+    public void testPageRankMatchesJgraphT() {
+        Graph<String, DefaultWeightedEdge> jgraph = Main.convertToJgraphT(adjGraph);
+        Map<String, Double> actual = Main.calPageRank(jgraph, 0.85, 50);
+        Map<String, Double> expected = referencePageRank(jgraph, 0.85, 50);
+        assertEquals(expected.keySet(), actual.keySet());
+        for (String word : expected.keySet()) {
+            assertEquals(expected.get(word), actual.get(word), 1e-9, word);
+        }
+    }
+
+    // 堆外图文件中的反向段与堆内图一致
+    @Test
+    public void testOffHeapReverseSections() throws IOException {
+        Files.createDirectories(Paths.get(System.getProperty("user.dir"), "target"));
+        Main.saveOffHeapGraph(adjGraph, "target/reverse.graph");
+        try (OffHeapWordGraph offHeap = Main.openOffHeapGraph("target/reverse.graph")) {
+            for (int v = 0; v <= graph.vertexCount(); v++) {
+                assertEquals(graph.firstInEdge(v), offHeap.firstInEdge(v));
+            }
+            for (long e = 0; e < graph.edgeCount(); e++) {
+                assertEquals(graph.source(e), offHeap.source(e));
+                assertEquals(graph.inWeight(e), offHeap.inWeight(e));
+            }
+            int analyzed = graph.id("analyzed");
+            assertArrayEquals(GraphAlgorithms.predecessors(graph, analyzed),
+                    GraphAlgorithms.predecessors(offHeap, analyzed));
+        }
+    }
+
+    private Map<String, Double> referencePageRank(Graph<String, DefaultWeightedEdge> jgraph,
+                                                  double d, int iterations) {
+        Map<String, Double> rank = new HashMap<>();
+        int n = jgraph.vertexSet().size();
+        for (String v : jgraph.vertexSet()) {
+            rank.put(v, (double) (jgraph.inDegreeOf(v) + jgraph.outDegreeOf(v)));
+        }
+        for (int i = 0; i < iterations; i++) {
+            Map<String, Double> next = new HashMap<>();
+            for (String v : jgraph.vertexSet()) {
+                double sum = 0.0;
+                for (DefaultWeightedEdge edge : jgraph.incomingEdgesOf(v)) {
+                    String u = jgraph.getEdgeSource(edge);
+                    sum += rank.get(u) / jgraph.outDegreeOf(u);
+                }
+                next.put(v, (1.0 - d) / n + d * sum);
+            }
+            rank = next;
+        }
+        return rank;
+    }
+}
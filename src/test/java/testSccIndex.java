@@ -0,0 +1,106 @@
+import org.example.GraphAlgorithms;
+import org.example.Main;
+import org.example.SccIndex;
+import org.example.WordGraph;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testSccIndex {
+
+    private final PrintStream originalOut = System.out;
+    private final InputStream originalIn = System.in;
+
+    @AfterEach
+    public void restoreStreams() {
+        System.setIn(originalIn);
+        System.setOut(originalOut);
+    }
+
+    // 位图和按需搜索两种方式的可达性都与 Dijkstra 的结果一致
+    @Test
+    public void testReachabilityMatchesDijkstra() {
+        Random random = new Random(8);
+        for (int round = 0; round < 10; round++) {
+            WordGraph graph = randomGraph(300, 1.2, random);
+            SccIndex bitsets = SccIndex.build(graph);
+            SccIndex search = SccIndex.build(graph, 0);
+            assertTrue(bitsets.hasBitsets());
+            assertFalse(search.hasBitsets());
+            for (int u = 0; u < graph.vertexCount(); u++) {
+                long[] dist = GraphAlgorithms.shortestDistances(graph, u, null);
+                for (int v = 0; v < graph.vertexCount(); v++) {
+                    boolean reachable = dist[v] != GraphAlgorithms.UNREACHABLE;
+                    assertEquals(reachable, bitsets.canReach(u, v));
+                    assertEquals(reachable, search.canReach(u, v));
+                }
+            }
+        }
+    }
+
+    // 剪枝后的点到点最短路径长度与完整 Dijkstra 相同
+    @Test
+    public void testPrunedShortestPath() {
+        Random random = new Random(9);
+        WordGraph graph = randomGraph(2000, 1.5, random);
+        SccIndex index = SccIndex.build(graph);
+        for (int query = 0; query < 300; query++) {
+            int s = random.nextInt(graph.vertexCount());
+            int t = random.nextInt(graph.vertexCount());
+            long[] dist = GraphAlgorithms.shortestDistances(graph, s, null);
+            int[] path = GraphAlgorithms.shortestPath(graph, s, t, index);
+            if (dist[t] == GraphAlgorithms.UNREACHABLE) {
+                assertArrayEquals(new int[0], path);
+                continue;
+            }
+            long length = 0;
+            for (int i = 0; i + 1 < path.length; i++) {
+                length += graph.weight(path[i], path[i + 1]);
+            }
+            assertEquals(dist[t], length);
+        }
+    }
+
+    // 不可达的两词查询直接给出结论
+    @Test
+    public void testCalcShortestPathRejectsUnreachable() throws IOException {
+        WordGraph graph = new WordGraph.Builder()
+                .addEdge("alpha", "beta", 1).addEdge("beta", "alpha", 1)
+                .addEdge("beta", "gamma", 2).addEdge("delta", "alpha", 1)
+                .build();
+        SccIndex index = SccIndex.build(graph);
+        assertEquals(3, index.componentCount());
+        assertEquals(index.component(graph.id("alpha")), index.component(graph.id("beta")));
+        assertEquals(2, index.dagEdgeCount());
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outContent, true, StandardCharsets.UTF_8));
+        System.setIn(new ByteArrayInputStream("gamma delta\nalpha\nexit\n".getBytes(StandardCharsets.UTF_8)));
+        Main.calcShortestPath(Main.convertToJgraphT(graph.toAdjacencyMap()),
+                "target/scc.dot", "target/scc.png");
+        String output = outContent.toString(StandardCharsets.UTF_8);
+        assertTrue(output.contains("从 gamma 到 delta 不可达！"));
+        assertTrue(output.contains("最短路径 alpha -> gamma ：alpha -> beta -> gamma，长度 = 3.0"));
+        assertFalse(output.contains("alpha -> delta"));
+    }
+
+    private WordGraph randomGraph(int n, double averageDegree, Random random) {
+        WordGraph.Builder builder = new WordGraph.Builder();
+        for (int i = 0; i < n; i++) {
+            builder.addVertex("v" + i);
+        }
+        for (int i = 0; i < n * averageDegree; i++) {
+            builder.addEdge("v" + random.nextInt(n), "v" + random.nextInt(n), 1 + random.nextInt(9));
+        }
+        return builder.build();
+    }
+}
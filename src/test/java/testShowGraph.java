@@ -0,0 +1,127 @@
+import org.example.GraphFilter;
+import org.example.Main;
+import org.example.WordGraph;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testShowGraph {
+
+    private final PrintStream originalOut = System.out;
+    private ByteArrayOutputStream outContent;
+    private final Map<String, Map<String, Integer>> adjGraph =
+            Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+    private final WordGraph graph = WordGraph.fromAdjacencyMap(adjGraph);
+
+    @BeforeEach
+    public void setUpStreams() {
+        outContent = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outContent, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void restoreStreams() {
+        System.setOut(originalOut);
+    }
+
+    // 小图全部显示，格式与原来相同
+    @Test
+    public void testShowsEveryEdge() {
+        Main.showDirectedGraph(adjGraph);
+        String output = outContent.toString(StandardCharsets.UTF_8);
+        Set<String> expected = new HashSet<>();
+        for (Map.Entry<String, Map<String, Integer>> from : adjGraph.entrySet()) {
+            for (Map.Entry<String, Integer> to : from.getValue().entrySet()) {
+                expected.add(from.getKey() + " -> " + to.getKey() + " [values=" + to.getValue() + "]");
+            }
+        }
+        List<String> lines = new ArrayList<>(Arrays.asList(output.split("\n")));
+        assertEquals("生成的有向图（命令行格式）：", lines.remove(0));
+        assertEquals(expected, new HashSet<>(lines));
+        assertEquals(expected.size(), lines.size());
+    }
+
+    // 前缀、最小权重和每个节点前 N 条边
+    @Test
+    public void testFilters() throws IOException {
+        StringWriter out = new StringWriter();
+        long total = Main.showDirectedGraph(graph, GraphFilter.builder().prefix("The").build(), out);
+        assertEquals(adjGraph.get("the").size(), total);
+        for (String line : out.toString().split("\n")) {
+            assertTrue(line.startsWith("the"), line);
+        }
+
+        out = new StringWriter();
+        total = Main.showDirectedGraph(graph, GraphFilter.builder().minWeight(2).build(), out);
+        assertEquals("the -> scientist [values=2]\nthe -> team [values=2]\n",
+                sorted(out.toString()));
+        assertEquals(2, total);
+
+        out = new StringWriter();
+        total = Main.showDirectedGraph(graph,
+                GraphFilter.builder().prefix("the").topPerNode(1).build(), out);
+        assertEquals(1, total);
+        assertTrue(out.toString().startsWith("the -> "));
+        assertTrue(out.toString().contains("[values=2]"));
+        assertThrows(IllegalArgumentException.class, () -> GraphFilter.builder().topPerNode(0));
+    }
+
+    // 分页拼接起来等于不分页的输出
+    @Test
+    public void testPagesConcatenate() throws IOException {
+        StringWriter all = new StringWriter();
+        long total = Main.showDirectedGraph(graph, GraphFilter.all(), all);
+        StringBuilder paged = new StringBuilder();
+        for (int page = 0; page * 4 < total; page++) {
+            StringWriter out = new StringWriter();
+            assertEquals(total, Main.showDirectedGraph(graph,
+                    GraphFilter.builder().page(page, 4).build(), out));
+            paged.append(out);
+        }
+        assertEquals(all.toString(), paged.toString());
+    }
+
+    // 大图仍然显示全部边，最后提示如何过滤分页；分页由过滤条件重载负责
+    @Test
+    public void testLargeGraphShowsEveryEdge() {
+        Random random = new Random(2);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            text.append(" w").append(random.nextInt(20_000));
+        }
+        WordGraph big = WordGraph.build(text.toString());
+        long start = System.nanoTime();
+        Main.showDirectedGraph(big.toAdjacencyMap());
+        long elapsed = System.nanoTime() - start;
+        String[] lines = outContent.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(big.edgeCount() + 2, lines.length);
+        assertTrue(lines[lines.length - 1].startsWith("共 " + big.edgeCount() + " 条边"));
+        originalOut.printf("大图全部显示: %d ms%n", elapsed / 1_000_000);
+
+        outContent.reset();
+        long total = Main.showDirectedGraph(big, GraphFilter.builder().page(0, 200).build());
+        assertEquals(big.edgeCount(), total);
+        assertEquals(200, outContent.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    private String sorted(String text) {
+        String[] lines = text.split("\n");
+        Arrays.sort(lines);
+        return String.join("\n", lines) + "\n";
+    }
+}
@@ -0,0 +1,69 @@
+import org.example.Main;
+import org.example.Tokenizer;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class testTokenizer {
+
+    // 默认分词器建出的图应与 readFile + buildDirectedGraph 完全一致
+    @Test
+    public void testDefaultMatchesReadFile() {
+        Map<String, Map<String, Integer>> expected =
+                Main.buildDirectedGraph(Main.readFile("Easy Test.txt"));
+        assertEquals(expected,
+                Main.buildDirectedGraphFromFile("Easy Test.txt", Tokenizer.defaultTokenizer()));
+    }
+
+    @Test
+    public void testConfigurableOptions() {
+        String text = "Don't split well-known 3D words -- 'quoted' Café running tests.";
+        assertEquals(List.of("don", "t", "split", "well", "known", "d", "words", "quoted", "café",
+                "running", "tests"), Tokenizer.defaultTokenizer().tokenize(text));
+        Tokenizer rich = Tokenizer.builder().keepApostrophes(true).keepHyphens(true)
+                .keepDigits(true).stemming(true).stopWords(List.of("d")).build();
+        assertEquals(List.of("don't", "split", "well-known", "3d", "word", "quot", "café",
+                "runn", "test"), rich.tokenize(text));
+        Tokenizer noStop = Tokenizer.builder().stopWords(Tokenizer.ENGLISH_STOP_WORDS).build();
+        assertEquals(List.of("scientist", "analyzed", "data"),
+                noStop.tokenize("The scientist analyzed the data"));
+        // 先过滤停用词再提取词干
+        Tokenizer stemmed = Tokenizer.builder().stemming(true)
+                .stopWords(Tokenizer.ENGLISH_STOP_WORDS).build();
+        assertEquals(List.of("scientist", "analyz", "data"),
+                stemmed.tokenize("This scientist analyzed these data"));
+    }
+
+    // 吞吐量基准：对比逐字符 isLetter/toLowerCase 与查表快速路径
+    @Test
+    public void benchmarkThroughput() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        String sentence = Main.readFile("Easy Test.txt");
+        while (sb.length() < 16 * 1024 * 1024) {
+            sb.append(sentence).append(' ');
+        }
+        String text = sb.toString();
+        double megabytes = text.length() / (1024.0 * 1024.0);
+        Tokenizer tokenizer = Tokenizer.defaultTokenizer();
+        long[] count = new long[1];
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            StringBuilder baseline = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                baseline.append(Character.isLetter(c) ? Character.toLowerCase(c) : ' ');
+            }
+            String[] words = baseline.toString().trim().split("\\s+");
+            long middle = System.nanoTime();
+            count[0] = 0;
+            tokenizer.tokenize(new StringReader(text), w -> count[0]++);
+            long end = System.nanoTime();
+            assertEquals(words.length, count[0]);
+            System.out.printf("readFile+split: %.1f MB/s, Tokenizer: %.1f MB/s%n",
+                    megabytes / ((middle - start) / 1e9), megabytes / ((end - middle) / 1e9));
+        }
+    }
+}
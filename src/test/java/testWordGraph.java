@@ -0,0 +1,105 @@
+import org.example.GraphAlgorithms;
+import org.example.LongIntHashMap;
+import org.example.Main;
+import org.example.WordGraph;
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class testWordGraph {
+
+    // 原来的逐边 putIfAbsent/get/getOrDefault/put 写法，作为对照
+    private Map<String, Map<String, Integer>> buildWithNestedMaps(String text) {
+        Map<String, Map<String, Integer>> graph = new HashMap<>();
+        String[] words = text.trim().split("\\s+");
+        for (int i = 0; i < words.length - 1; i++) {
+            String from = words[i];
+            String to = words[i + 1];
+            if (from.isEmpty() || to.isEmpty()) {
+                continue;
+            }
+            graph.putIfAbsent(from, new HashMap<>());
+            Map<String, Integer> edges = graph.get(from);
+            edges.put(to, edges.getOrDefault(to, 0) + 1);
+        }
+        return graph;
+    }
+
+    private String randomCorpus(int words, int vocabulary, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            // 近似 Zipf 分布：小编号的词出现得更频繁
+            int id = (int) Math.pow(vocabulary, random.nextDouble()) - 1;
+            sb.append('w').append(Integer.toString(id, 36)).append(' ');
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testSameGraphAsNestedMaps() {
+        String text = Main.readFile("Easy Test.txt");
+        assertEquals(buildWithNestedMaps(text), Main.buildDirectedGraph(text));
+        String corpus = randomCorpus(50000, 2000, 1L);
+        assertEquals(buildWithNestedMaps(corpus), Main.buildDirectedGraph(corpus));
+        assertEquals(buildWithNestedMaps(""), Main.buildDirectedGraph(""));
+        assertEquals(buildWithNestedMaps("  one  "), Main.buildDirectedGraph("  one  "));
+    }
+
+    @Test
+    public void testCsrLayout() {
+        WordGraph graph = WordGraph.build(Main.readFile("Easy Test.txt"));
+        int the = graph.id("the");
+        assertEquals(4, graph.outDegree(the));
+        assertEquals(2, graph.weight(the, graph.id("scientist")));
+        assertEquals(0, graph.weight(the, graph.id("wrote")));
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            for (long e = graph.firstEdge(v) + 1; e < graph.firstEdge(v + 1); e++) {
+                assertTrue(graph.target(e - 1) < graph.target(e), "出边应按编号升序");
+            }
+        }
+        assertEquals(-1, graph.id("bananas"));
+        // 二分查找边下标：每条边都能找到自身，不存在的边返回 -1
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            for (long e = graph.firstEdge(v); e < graph.firstEdge(v + 1); e++) {
+                assertEquals(e, GraphAlgorithms.findEdge(graph, v, graph.target(e)));
+            }
+        }
+        assertEquals(-1, GraphAlgorithms.findEdge(graph, the, graph.id("wrote")));
+    }
+
+    @Test
+    public void testLongIntHashMap() {
+        LongIntHashMap map = new LongIntHashMap(2);
+        for (int i = 0; i < 10000; i++) {
+            map.addTo(LongIntHashMap.pack(i % 100, i), 1);
+            map.addTo(LongIntHashMap.pack(i % 100, i), 2);
+        }
+        assertEquals(10000, map.size());
+        assertEquals(3, map.get(LongIntHashMap.pack(7, 507), 0));
+        assertEquals(-1, map.get(LongIntHashMap.pack(8, 507), -1));
+    }
+
+    // 基准：嵌套 Map 逐边计数 与 原始类型计数 + CSR 冻结
+    @Test
+    public void benchmarkGraphConstruction() {
+        String corpus = randomCorpus(1_000_000, 50_000, 2L);
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            Map<String, Map<String, Integer>> nested = buildWithNestedMaps(corpus);
+            long middle = System.nanoTime();
+            WordGraph graph = WordGraph.build(corpus);
+            long end = System.nanoTime();
+            Map<String, Map<String, Integer>> converted = Main.buildDirectedGraph(corpus);
+            long last = System.nanoTime();
+            assertEquals(nested.size(), converted.size());
+            assertTrue(graph.edgeCount() > 0);
+            System.out.printf("嵌套Map: %d ms, WordGraph: %d ms (%.1fx), buildDirectedGraph: %d ms%n",
+                    (middle - start) / 1_000_000, (end - middle) / 1_000_000,
+                    (double) (middle - start) / (end - middle), (last - end) / 1_000_000);
+        }
+    }
+}